@@ -19,10 +19,11 @@ package org.wildfly.galleon.plugin.config.generator;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -30,11 +31,15 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jboss.as.controller.client.helpers.ClientConstants;
 import org.jboss.as.controller.client.helpers.Operations;
 import org.jboss.dmr.ModelNode;
-import org.jboss.dmr.Property;
+import org.jboss.dmr.ModelType;
 import org.jboss.galleon.Errors;
 import org.jboss.galleon.MessageWriter;
 import org.jboss.galleon.ProvisioningException;
@@ -65,8 +70,10 @@ import org.jboss.galleon.xml.ProvisionedConfigXmlWriter;
 import org.jboss.galleon.xml.ProvisionedFeatureBuilder;
 import org.jboss.galleon.xml.ProvisioningXmlParser;
 import org.jboss.galleon.xml.ProvisioningXmlWriter;
+import org.wildfly.galleon.plugin.ConfigFingerprints;
 import org.wildfly.galleon.plugin.WfConstants;
 import org.wildfly.galleon.plugin.server.ConfigGeneratorException;
+import org.wildfly.galleon.plugin.server.EmbeddedBaseDir;
 
 /**
  *
@@ -78,8 +85,9 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
     private static final String HOST_ELEMENT = "<host ";
     private static final String SERVER_ELEMENT = "<server ";
 
-    private static final String ADDED = "added";
-    private static final String UPDATED = "updated";
+    private static final String CONFIG = "config-";
+
+    private static final int MAX_PARALLEL_READS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
 
     public static class ConfigSpecMapper implements ProvisionedConfigHandler {
 
@@ -124,6 +132,37 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
         }
     }
 
+    /**
+     * The resolved spec of the features a read-config-as-features response lists under a spec name,
+     * it is resolved once per spec name in a response.
+     */
+    private static class ReadSpec {
+
+        final String readName;
+        final ResolvedSpecId id;
+        final FeatureSpec spec;
+        final boolean path;
+        private Set<String> unknownParams = Collections.emptySet();
+
+        ReadSpec(String readName, String specName, ResolvedSpecId id, FeatureSpec spec) {
+            this.readName = readName;
+            this.id = id;
+            this.spec = spec;
+            this.path = specName.equals("path");
+        }
+
+        /**
+         * Returns true if the parameter hasn't been reported as unknown yet.
+         */
+        boolean addUnknownParam(String paramName) {
+            if (unknownParams.contains(paramName)) {
+                return false;
+            }
+            unknownParams = CollectionUtils.add(unknownParams, paramName);
+            return true;
+        }
+    }
+
     private interface FsEntryProvider {
         FsEntry getFsEntry(String relativePath);
     }
@@ -146,11 +185,22 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
         READ_ONLY_PATHS = Collections.unmodifiableSet(tmp);
     }
 
-    private static void processPaths(Path home, Iterable<String> relativePaths, FsEntryProvider fsEntries, Map<ConfigId, String> affectedConfigs) throws ProvisioningException {
+    private static void processPaths(Path home, Iterable<String> relativePaths, FsEntryProvider fsEntries, ConfigFingerprints fingerprints,
+            MessageWriter log, Map<ConfigId, String> affectedConfigs) throws ProvisioningException {
         for(String relativePath : relativePaths) {
             if(!isWfConfig(relativePath)) {
                 continue;
             }
+            if(fingerprints != null) {
+                try {
+                    if(fingerprints.matches(relativePath, home.resolve(relativePath))) {
+                        log.verbose("Skipping %s, it differs from the provisioned config only in formatting", relativePath);
+                        continue;
+                    }
+                } catch (IOException e) {
+                    throw new ProvisioningException(Errors.readFile(home.resolve(relativePath)), e);
+                }
+            }
             final String rootElement = getRootElement(home.resolve(relativePath));
             String model;
             if(rootElement.regionMatches(0, SERVER_ELEMENT, 0, SERVER_ELEMENT.length())) {
@@ -200,43 +250,50 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
 
         final Map<ConfigId, String> affectedConfigs = new LinkedHashMap<>(0);
         if(fsDiff.hasModifiedEntries()) {
+            // the modified configs the canonical form of which is the provisioned one don't need to be read
+            final ConfigFingerprints fingerprints;
+            try {
+                fingerprints = ConfigFingerprints.load(fsDiff.getOtherRoot().getPath());
+            } catch (IOException e) {
+                throw new ProvisioningException("Failed to load the config fingerprints", e);
+            }
             processPaths(fsDiff.getOtherRoot().getPath(), fsDiff.getModifiedPaths(), new FsEntryProvider() {
                 @Override
                 public FsEntry getFsEntry(String relativePath) {
                     return fsDiff.getModifiedEntry(relativePath)[0];
-                }}, affectedConfigs);
+                }}, fingerprints, diffProvider.getMessageWriter(), affectedConfigs);
         }
         if(fsDiff.hasAddedEntries()) {
             processPaths(fsDiff.getOtherRoot().getPath(), fsDiff.getAddedPaths(), new FsEntryProvider() {
                 @Override
                 public FsEntry getFsEntry(String relativePath) {
                     return fsDiff.getAddedEntry(relativePath);
-                }}, affectedConfigs);
+                }}, null, diffProvider.getMessageWriter(), affectedConfigs);
         }
 
         if(!affectedConfigs.isEmpty()) {
-            final WfConfigsReader reader = new WfConfigsReader();
-            reader.log = diffProvider.getMessageWriter();
-            reader.home = fsDiff.getOtherRoot().getPath();
-            reader.configIds = affectedConfigs;
-
-            reader.generate(diffProvider.getProvisioningLayout(), diffProvider.getProvisionedState(), reader.home, reader.log, false);
+            final List<ProvisionedConfig> configs = readConfigs(diffProvider, affectedConfigs);
 
+            List<ProvisionedConfig> addedConfigs = Collections.emptyList();
             WfFeatureDiffCallback featureCallback = null;
-            if (!reader.updatedConfigs.isEmpty()) {
-                featureCallback = new WfFeatureDiffCallback();
-                for (ProvisionedConfig config : reader.updatedConfigs) {
-                    diffProvider.updateConfig(featureCallback, config,
-                            reader.configIds.get(new ConfigId(config.getModel(), config.getName())));
+            for (ProvisionedConfig config : configs) {
+                if (!isProvisioned(diffProvider.getProvisionedState(), config)) {
+                    addedConfigs = CollectionUtils.add(addedConfigs, config);
+                    continue;
+                }
+                if (featureCallback == null) {
+                    featureCallback = new WfFeatureDiffCallback();
                 }
+                diffProvider.updateConfig(featureCallback, config,
+                        affectedConfigs.get(new ConfigId(config.getModel(), config.getName())));
             }
-            if (!reader.addedConfigs.isEmpty()) {
+            if (!addedConfigs.isEmpty()) {
                 if (featureCallback == null) {
                     featureCallback = new WfFeatureDiffCallback();
                 }
-                for (ProvisionedConfig config : reader.addedConfigs) {
+                for (ProvisionedConfig config : addedConfigs) {
                     diffProvider.addConfig(featureCallback, config,
-                            reader.configIds.get(new ConfigId(config.getModel(), config.getName())));
+                            affectedConfigs.get(new ConfigId(config.getModel(), config.getName())));
                 }
             }
         }
@@ -275,15 +332,119 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
         }
     }
 
+    /**
+     * Reads the affected configs. When there are several standalone and domain configs, each of them is read
+     * in its own forked embedded process and the processes run concurrently. Each process is started with a copy
+     * of the configuration directory as its base directory, see {@link EmbeddedBaseDir}.
+     * Host configs are always read in the current process, since reading them requires the host name to be resolved
+     * first. They are read before the forked processes are started, since the embedded host controller changes
+     * the system properties of the current process.
+     *
+     * @return the configs in the order of the affected configs
+     */
+    private static List<ProvisionedConfig> readConfigs(ProvisioningDiffProvider diffProvider, Map<ConfigId, String> affectedConfigs) throws ProvisioningException {
+        final Map<ConfigId, String> embeddedConfigs = new LinkedHashMap<>(affectedConfigs.size());
+        final List<ConfigId> forkedConfigs = new ArrayList<>(affectedConfigs.size());
+        for (Map.Entry<ConfigId, String> entry : affectedConfigs.entrySet()) {
+            if (WfConstants.HOST.equals(entry.getKey().getModel())) {
+                embeddedConfigs.put(entry.getKey(), entry.getValue());
+            } else {
+                forkedConfigs.add(entry.getKey());
+            }
+        }
+        if (forkedConfigs.size() < 2) {
+            return newReader(diffProvider, affectedConfigs).read(diffProvider, false);
+        }
+
+        final ProvisioningLayout<FeaturePackRuntimeBuilder> layout = diffProvider.getProvisioningLayout();
+        final ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        final Map<ConfigId, ProvisionedConfig> readConfigs = new HashMap<>(affectedConfigs.size());
+        if (!embeddedConfigs.isEmpty()) {
+            putConfigs(readConfigs, newReader(diffProvider, embeddedConfigs).read(diffProvider, false));
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(forkedConfigs.size(), MAX_PARALLEL_READS));
+        try {
+            final List<CompletableFuture<List<ProvisionedConfig>>> forkedReads = new ArrayList<>(forkedConfigs.size());
+            for (ConfigId forkedConfig : forkedConfigs) {
+                final WfConfigsReader reader = newReader(diffProvider,
+                        Collections.singletonMap(forkedConfig, affectedConfigs.get(forkedConfig)));
+                reader.workDir = layout.getTmpPath("forked-wf-diff", String.valueOf(forkedReads.size()));
+                // the concurrent embedded processes must not share their configuration, data, tmp and log dirs
+                reader.baseDir = reader.workDir.resolve(forkedConfig.getModel());
+                forkedReads.add(CompletableFuture.supplyAsync(() -> {
+                    // the classpath of the forked process is collected from the context class loader
+                    Thread.currentThread().setContextClassLoader(cl);
+                    try {
+                        return reader.read(diffProvider, true);
+                    } catch (ProvisioningException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+
+            for (CompletableFuture<List<ProvisionedConfig>> forkedRead : forkedReads) {
+                putConfigs(readConfigs, forkedRead.join());
+            }
+
+            final List<ProvisionedConfig> configs = new ArrayList<>(readConfigs.size());
+            for (ConfigId configId : affectedConfigs.keySet()) {
+                final ProvisionedConfig config = readConfigs.get(configId);
+                if (config != null) {
+                    configs.add(config);
+                }
+            }
+            return configs;
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ProvisioningException) {
+                throw (ProvisioningException) cause;
+            }
+            throw new ProvisioningException("Failed to read the configs", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static WfConfigsReader newReader(ProvisioningDiffProvider diffProvider, Map<ConfigId, String> configIds) {
+        final WfConfigsReader reader = new WfConfigsReader();
+        reader.log = diffProvider.getMessageWriter();
+        reader.home = diffProvider.getFsDiff().getOtherRoot().getPath();
+        reader.configIds = configIds;
+        return reader;
+    }
+
+    private static void putConfigs(Map<ConfigId, ProvisionedConfig> readConfigs, List<ProvisionedConfig> configs) {
+        for (ProvisionedConfig config : configs) {
+            readConfigs.put(new ConfigId(config.getModel(), config.getName()), config);
+        }
+    }
+
+    private static boolean isProvisioned(ProvisionedState provisionedState, ProvisionedConfig config) {
+        for (ProvisionedConfig provisioned : provisionedState.getConfigs()) {
+            if ((provisioned.getModel() == null || provisioned.getModel().equals(config.getModel())) &&
+                    (provisioned.getName() == null || provisioned.getName().equals(config.getName()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Path home;
+    private Path workDir;
+    // the base dir of the embedded process, if it isn't the one of the installation
+    private Path baseDir;
     private MessageWriter log;
     private Map<ConfigId, String> configIds;
     private ProvisioningLayout<FeaturePackRuntimeBuilder> layout;
-    private ProvisionedState provisionedState;
     private Map<String, FeatureSpec> loadedSpecs = Collections.emptyMap();
     private ConfigId configId;
-    private List<ProvisionedConfig> updatedConfigs = Collections.emptyList();
-    private List<ProvisionedConfig> addedConfigs = Collections.emptyList();
+    private List<ProvisionedConfig> configs = Collections.emptyList();
+
+    private List<ProvisionedConfig> read(ProvisioningDiffProvider diffProvider, boolean forkEmbedded) throws ProvisioningException {
+        generate(diffProvider.getProvisioningLayout(), diffProvider.getProvisionedState(), home, log, forkEmbedded);
+        return configs;
+    }
+
     @Override
     protected String getHome(ProvisioningRuntime runtime) {
         return home.toString();
@@ -292,12 +453,11 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
     @Override
     protected void doGenerate(ProvisioningLayout<FeaturePackRuntimeBuilder> layout, ProvisionedState provisionedState) throws ProvisioningException {
         this.layout = layout;
-        this.provisionedState = provisionedState;
 
         for(Map.Entry<ConfigId, String> entry : configIds.entrySet()) {
             final Path configXml = home.resolve(entry.getValue());
             if (!Files.exists(configXml)) {
-                throw new ProvisioningException("Config " + configId + " does not exist: " + configXml);
+                throw new ProvisioningException("Config " + entry.getKey() + " does not exist: " + configXml);
             }
             this.configId = entry.getKey();
             readConfig(getConfigArg(configId.getModel()), configXml);
@@ -310,7 +470,7 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
         int i = superArgs.length + 2;
         final String[] args = new String[i];
         System.arraycopy(superArgs, 0, args, 0, superArgs.length);
-        final Path workDir = layout.getTmpPath("forked-wf-diff");
+        final Path workDir = getWorkDir();
         final Path configXml = workDir.resolve("provisioning.xml");
         try {
             ProvisioningXmlWriter.getInstance().write(layout.getConfig(), configXml);
@@ -322,6 +482,15 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
         return args;
     }
 
+    @Override
+    protected Path getScriptPath(ProvisioningLayout<?> layout) throws ProvisioningException {
+        return workDir == null ? super.getScriptPath(layout) : workDir.resolve("forkedembedded.txt");
+    }
+
+    private Path getWorkDir() {
+        return workDir == null ? layout.getTmpPath("forked-wf-diff") : workDir;
+    }
+
     @Override
     public void forkedForEmbedded(String... args) throws ConfigGeneratorException {
         int i = args.length;
@@ -338,13 +507,7 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
                 }
             }, false);
             super.forkedForEmbedded(args);
-            --i;
-            if (!addedConfigs.isEmpty()) {
-                persistConfigs(args[i], ADDED, addedConfigs);
-            }
-            if (!updatedConfigs.isEmpty()) {
-                persistConfigs(args[i], UPDATED, updatedConfigs);
-            }
+            persistConfigs(args[--i], configs);
         } catch (ProvisioningException e) {
             throw new ConfigGeneratorException(e);
         }
@@ -352,45 +515,33 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
 
     @Override
     public void forkedEmbeddedDone(String... args) throws ConfigGeneratorException {
-        final Path configsDir = Paths.get(args[args.length - 3]);
-        if(!Files.exists(configsDir)) {
-            return;
-        }
-        Path p = configsDir.resolve(ADDED);
-        if(Files.exists(p)) {
-            try(DirectoryStream<Path> stream = Files.newDirectoryStream(p)) {
-                for(Path xml : stream) {
-                    addedConfigs = CollectionUtils.add(addedConfigs, ProvisionedConfigXmlParser.parse(xml));
-                }
-            } catch (IOException | ProvisioningException e) {
-                throw new ConfigGeneratorException(Errors.readDirectory(p), e);
-            }
-        }
-        p = configsDir.resolve(UPDATED);
-        if(Files.exists(p)) {
-            try(DirectoryStream<Path> stream = Files.newDirectoryStream(p)) {
-                for(Path xml : stream) {
-                    updatedConfigs = CollectionUtils.add(updatedConfigs, ProvisionedConfigXmlParser.parse(xml));
-                }
-            } catch (IOException | ProvisioningException e) {
-                throw new ConfigGeneratorException(Errors.readDirectory(p), e);
+        final Path configsDir = Paths.get(args[args.length - 2]);
+        // the configs are numbered in the order they were read
+        Path xml = configsDir.resolve(CONFIG + configs.size());
+        while (Files.exists(xml)) {
+            try {
+                configs = CollectionUtils.add(configs, ProvisionedConfigXmlParser.parse(xml));
+            } catch (ProvisioningException e) {
+                throw new ConfigGeneratorException(Errors.readFile(xml), e);
             }
+            xml = configsDir.resolve(CONFIG + configs.size());
         }
     }
 
-    private static void persistConfigs(final String baseDir, String type, List<ProvisionedConfig> configs) throws ProvisioningException {
-        final Path configsDir = Paths.get(baseDir).resolve(type);
+    private static void persistConfigs(final String baseDir, List<ProvisionedConfig> configs) throws ProvisioningException {
+        final Path configsDir = Paths.get(baseDir);
         try {
             Files.createDirectories(configsDir);
         } catch (IOException e) {
             throw new ProvisioningException(Errors.mkdirs(configsDir), e);
         }
         final ProvisionedConfigXmlWriter writer = ProvisionedConfigXmlWriter.getInstance();
-        for(ProvisionedConfig config : configs) {
+        for (int i = 0; i < configs.size(); ++i) {
+            final Path xml = configsDir.resolve(CONFIG + i);
             try {
-                writer.write(config, configsDir.resolve(config.getName()));
+                writer.write(configs.get(i), xml);
             } catch (Exception e) {
-                throw new ProvisioningException(Errors.writeFile(configsDir.resolve(config.getName())), e);
+                throw new ProvisioningException(Errors.writeFile(xml), e);
             }
         }
     }
@@ -413,10 +564,19 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
     private void readConfig(String configArg, Path configPath) throws ProvisioningException {
         try {
             final ModelNode readConfigOp = Operations.createOperation("read-config-as-features");
+            final List<String> args = new ArrayList<>(5);
             if (configArg.equals(WfConstants.EMBEDDED_ARG_SERVER_CONFIG)) {
-                startServer("--admin-only", configArg, configPath.getFileName().toString());
+                args.add("--admin-only");
+            }
+            args.add(configArg);
+            args.add(configPath.getFileName().toString());
+            if (baseDir != null) {
+                args.addAll(Arrays.asList(EmbeddedBaseDir.create(home, configId.getModel(), baseDir)));
+            }
+            if (configArg.equals(WfConstants.EMBEDDED_ARG_SERVER_CONFIG)) {
+                startServer(args.toArray(new String[0]));
             } else {
-                startHc(configArg, configPath.getFileName().toString());
+                startHc(args.toArray(new String[0]));
                 if (configArg.equals(WfConstants.EMBEDDED_ARG_HOST_CONFIG)) {
                     hostName = "";
                     final ModelNode readHostNameOp = Operations.createOperation(ClientConstants.READ_CHILDREN_NAMES_OPERATION);
@@ -469,77 +629,59 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
         }
 
         ProvisionedConfigBuilder configBuilder = null;
-        String prevSpec = null;
-        ResolvedSpecId specId = null;
-        for(ModelNode featureNode : response.get("result").asList()) {
-            String specName;
+        final Map<String, ReadSpec> readSpecs = new HashMap<>();
+        ReadSpec readSpec = null;
+        final ModelNode result = response.get(ClientConstants.RESULT);
+        if(result.getType() != ModelType.LIST) {
+            throw new ProvisioningException("Expected a list of features but got " + result);
+        }
+        // the features are accessed by index to avoid copying the list, asInt() of a LIST node returns its size
+        final int featuresTotal = result.asInt();
+        for(int i = 0; i < featuresTotal; ++i) {
+            final ModelNode featureNode = result.get(i);
+            final String specName;
             try {
                 specName = featureNode.get("spec").asString();
             } catch(Throwable t) {
                 throw new ProvisioningException("Failed to process " + featureNode, t);
             }
-            if (model == 1) {
-                if (specName.startsWith("profile.")) {
-                    specName = specName.substring("profile.".length());
+            if(readSpec == null || !readSpec.readName.equals(specName)) {
+                readSpec = readSpecs.get(specName);
+                if(readSpec == null) {
+                    readSpec = resolveReadSpec(specName, model);
+                    readSpecs.put(specName, readSpec);
                 }
             }
 
-            if(!specName.equals(prevSpec)) {
-                specId = resolveSpec(specName);
-                if (specId == null) {
-                    if(model == 1 && specName.startsWith("domain.")) {
-                        specId = resolveSpec(specName.substring("domain.".length()));
-                        if(specId == null) {
-                            throw new ProvisioningException("Failed to locate feature spec " + featureNode.get("spec").asString()
-                                    + " in the installed feature-packs");
-                        }
-                    } else if(model == 2 && specName.startsWith("host.")) {
-                            specId = resolveSpec(specName.substring("host.".length()));
-                            if(specId == null) {
-                                throw new ProvisioningException("Failed to locate feature spec " + featureNode.get("spec").asString()
-                                        + " in the installed feature-packs");
-                            }
-                    } else {
-                        throw new ProvisioningException("Failed to locate feature spec " + featureNode.get("spec").asString()
-                                + " in the installed feature-packs");
-                    }
-                }
-                prevSpec = specName;
-            }
-
             ResolvedFeatureId actualFeatureId = null;
             if(featureNode.hasDefined("id")) {
-                final List<Property> props = featureNode.get("id").asPropertyList();
-                if(!props.isEmpty()) {
-                    final ResolvedFeatureId.Builder idBuilder = ResolvedFeatureId.builder(specId);
-                    for (Property prop : props) {
-                        idBuilder.setParam(prop.getName(), prop.getValue().asString());
+                final ModelNode idNode = featureNode.get("id");
+                final Set<String> idParams = idNode.keys();
+                if(!idParams.isEmpty()) {
+                    final ResolvedFeatureId.Builder idBuilder = ResolvedFeatureId.builder(readSpec.id);
+                    for (String idParam : idParams) {
+                        idBuilder.setParam(idParam, idNode.get(idParam).asString());
                     }
                     actualFeatureId = idBuilder.build();
                 }
             }
 
-            if(specName.equals("path") && READ_ONLY_PATHS.contains(actualFeatureId.getParams().get("path"))) {
+            if(readSpec.path && READ_ONLY_PATHS.contains(actualFeatureId.getParams().get("path"))) {
                 continue;
             }
 
-            final List<Property> params = featureNode.hasDefined("params") ? featureNode.get("params").asPropertyList() : Collections.emptyList();
-
-            final ProvisionedFeatureBuilder featureBuilder = actualFeatureId == null ? ProvisionedFeatureBuilder.builder(specId) : ProvisionedFeatureBuilder.builder(actualFeatureId);
-            final FeatureSpec featureSpec = getFeatureSpec(specId);
-            for (Property param : params) {
-                final String paramName = param.getName();
-                if (!featureSpec.hasParam(paramName)) {
-                    if(log != null) {
-                        log.print("WARN: parameter " + paramName + " is not found in " + specId);
+            final ProvisionedFeatureBuilder featureBuilder = actualFeatureId == null ? ProvisionedFeatureBuilder.builder(readSpec.id) : ProvisionedFeatureBuilder.builder(actualFeatureId);
+            if(featureNode.hasDefined("params")) {
+                final ModelNode paramsNode = featureNode.get("params");
+                for (String paramName : paramsNode.keys()) {
+                    if (!readSpec.spec.hasParam(paramName)) {
+                        if(log != null && readSpec.addUnknownParam(paramName)) {
+                            log.print("WARN: parameter " + paramName + " is not found in " + readSpec.id);
+                        }
+                        continue;
                     }
-                    continue;
+                    featureBuilder.setConfigParam(paramName, paramsNode.get(paramName).asString());
                 }
-                if (paramName.equals("module") && specName.equals("extension")
-                        && param.getValue().equals(actualFeatureId.getParams().get("extension"))) {
-                    continue;
-                }
-                featureBuilder.setConfigParam(param.getName(), param.getValue().asString());
             }
 
             if(configBuilder == null) {
@@ -548,20 +690,29 @@ public class WfConfigsReader extends WfEmbeddedTaskBase<List<ProvisionedConfig>>
             configBuilder.addFeature(featureBuilder.build());
         }
         if(configBuilder != null) {
-            boolean existing = false;
-            for(ProvisionedConfig config : provisionedState.getConfigs()) {
-                if((config.getModel() == null || config.getModel().equals(configId.getModel())) &&
-                        (config.getName() == null || config.getName().equals(configId.getName()))) {
-                    existing = true;
-                    break;
-                }
+            configs = CollectionUtils.add(configs, configBuilder.build());
+        }
+    }
+
+    private ReadSpec resolveReadSpec(String readName, int model) throws ProvisioningException {
+        String specName = readName;
+        if (model == 1) {
+            if (specName.startsWith("profile.")) {
+                specName = specName.substring("profile.".length());
             }
-            if(existing) {
-                updatedConfigs = CollectionUtils.add(updatedConfigs, configBuilder.build());
-            } else {
-                addedConfigs = CollectionUtils.add(addedConfigs, configBuilder.build());
+        }
+        ResolvedSpecId specId = resolveSpec(specName);
+        if (specId == null) {
+            if(model == 1 && specName.startsWith("domain.")) {
+                specId = resolveSpec(specName.substring("domain.".length()));
+            } else if(model == 2 && specName.startsWith("host.")) {
+                specId = resolveSpec(specName.substring("host.".length()));
+            }
+            if(specId == null) {
+                throw new ProvisioningException("Failed to locate feature spec " + readName + " in the installed feature-packs");
             }
         }
+        return new ReadSpec(readName, specName, specId, getFeatureSpec(specId));
     }
 
     private ResolvedSpecId resolveSpec(final String specName) throws ProvisioningException {
@@ -111,6 +111,10 @@ public abstract class WfEmbeddedTaskBase<R> implements ForkCallback {
         return new String[] {jbossHome, script.toString()};
     }
 
+    protected Path getScriptPath(ProvisioningLayout<?> layout) throws ProvisioningException {
+        return layout.getTmpPath("forkedembedded.txt");
+    }
+
     protected String getHome(ProvisioningRuntime runtime) {
         return runtime.getStagedDir().toString();
     }
@@ -158,7 +162,7 @@ public abstract class WfEmbeddedTaskBase<R> implements ForkCallback {
 
     private void initScriptWriter(ProvisioningLayout<?> layout) throws ProvisioningException {
         scriptBuf = new StringBuilder();
-        script = layout.getTmpPath("forkedembedded.txt");
+        script = getScriptPath(layout);
         try {
             Files.createDirectories(script.getParent());
             scriptWriter = new PrintWriter(Files.newBufferedWriter(script));
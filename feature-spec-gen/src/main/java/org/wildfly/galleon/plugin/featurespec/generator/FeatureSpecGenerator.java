@@ -30,11 +30,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -46,14 +48,15 @@ import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.galleon.Errors;
 import org.jboss.galleon.ProvisioningException;
+import org.jboss.galleon.spec.FeatureParameterSpec;
 import org.jboss.galleon.spec.FeatureSpec;
-import org.jboss.galleon.util.CollectionUtils;
 import org.jboss.galleon.util.IoUtils;
 import org.jboss.galleon.util.StringUtils;
 import org.jboss.galleon.xml.FeatureSpecXmlParser;
 import org.wildfly.core.embedded.EmbeddedManagedProcess;
 import org.wildfly.core.embedded.EmbeddedProcessFactory;
 import org.wildfly.core.embedded.EmbeddedProcessStartException;
+import org.wildfly.galleon.plugin.FeatureSpecIndex;
 import org.wildfly.galleon.plugin.WfConstants;
 import org.wildfly.galleon.plugin.server.ForkCallback;
 import org.wildfly.galleon.plugin.server.ForkedEmbeddedUtil;
@@ -68,6 +71,25 @@ public class FeatureSpecGenerator implements ForkCallback {
     private static final String CHILDREN = "children";
     private static final String DESCRIPTION = "description";
     private static final String MODEL_DESCRIPTION = "model-description";
+    private static final String STANDALONE_XML = "standalone.xml";
+    private static final String STANDALONE_LOCAL_XML = "standalone-local.xml";
+    private static final String MANAGEMENT_API_JSON = "management-api.json";
+    // maximum number of read-resource-description operations executed concurrently when reading the model
+    private static final int MAX_CONCURRENT_READS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * The feature descriptions and the management model read from a standalone server.
+     */
+    private static class StandaloneDescriptions {
+        private final ModelNode features;
+        private final ModelNode model;
+
+        StandaloneDescriptions(ModelNode features, ModelNode model) {
+            this.features = features;
+            this.model = model;
+        }
+    }
+
     private Map<String, FeatureSpecNode> nodesBySpecName = new HashMap<>();
     private Map<String, Map<String, FeatureSpecNode>> referencedSpecs = new HashMap<>();
     private Map<String, FeatureSpecNode> capProviders = new HashMap<>();
@@ -76,9 +98,12 @@ public class FeatureSpecGenerator implements ForkCallback {
     private String installation;
     Path outputDir;
     private boolean fork;
+    private boolean parallelFork;
     private boolean debug;
     private Map<String, Path> inheritedSpecs;
-    private Map<String, FeatureSpec> parsedInheritedSpecs = Collections.emptyMap();
+    private final Map<String, FeatureSpec> parsedInheritedSpecs = new ConcurrentHashMap<>();
+    private Map<String, Path> inheritedSpecIndexes = Collections.emptyMap();
+    private final Map<Path, FeatureSpecIndex> loadedSpecIndexes = new ConcurrentHashMap<>();
 
     private Path systemProps;
     private Path standaloneSpecsFile;
@@ -164,6 +189,26 @@ public class FeatureSpecGenerator implements ForkCallback {
         this.generateCompleteModel = generateCompleteModel;
     }
 
+    /**
+     * When the embedded servers are forked, whether the standalone server and the host controller
+     * are launched concurrently in two separate processes.
+     *
+     * @param parallelFork true to fork the standalone server and the host controller concurrently
+     */
+    public void setParallelFork(boolean parallelFork) {
+        this.parallelFork = parallelFork;
+    }
+
+    /**
+     * Sets the indexes of the inherited feature specs, the ID parameters of an indexed spec are read from its index
+     * instead of its spec.xml file.
+     *
+     * @param inheritedSpecIndexes the {@link FeatureSpecIndex} files by inherited spec name
+     */
+    public void setInheritedSpecIndexes(Map<String, Path> inheritedSpecIndexes) {
+        this.inheritedSpecIndexes = inheritedSpecIndexes;
+    }
+
     public int generateSpecs() throws ProvisioningException {
         final Map<Object, Object> originalProps = new HashMap<>(System.getProperties());
         try {
@@ -197,37 +242,70 @@ public class FeatureSpecGenerator implements ForkCallback {
     private void doGenerate() throws ProvisioningException {
         final ModelNode standaloneFeatures;
         ModelNode domainRoots = null;
+        final boolean hasDomain = Files.exists(Paths.get(installation).resolve(WfConstants.DOMAIN).resolve(WfConstants.CONFIGURATION));
         if (fork) {
             String minStab = mimimumStability == null ? "" : mimimumStability;
-            ForkedEmbeddedUtil.fork(this, debug, getStoredSystemProps(), installation, getStandaloneSpecsFile().toString(), getDomainSpecsFile().toString(), description , generateCompleteModel ? "true" : "false", minStab);
+            if (parallelFork && hasDomain) {
+                // the files shared by the processes are created before the processes are launched
+                getStoredSystemProps();
+                getStandaloneSpecsFile();
+                getDomainSpecsFile();
+                // the host controller is read in its own process while the standalone server is read
+                final CompletableFuture<Void> domainFork = CompletableFuture.runAsync(() -> {
+                    try {
+                        fork(minStab, WfConstants.DOMAIN);
+                    } catch (ProvisioningException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+                ProvisioningException failure = null;
+                try {
+                    fork(minStab, WfConstants.STANDALONE);
+                } catch (ProvisioningException e) {
+                    failure = e;
+                }
+                try {
+                    domainFork.join();
+                } catch (CompletionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof ProvisioningException ? (ProvisioningException) e.getCause()
+                                : new ProvisioningException("Failed to read the domain feature specs", e.getCause());
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            } else {
+                fork(minStab, null);
+            }
             standaloneFeatures = readSpecsFile(getStandaloneSpecsFile());
-            Path managementApiPath = getStandaloneSpecsFile().getParent().resolve("management-api.json");
+            Path managementApiPath = getStandaloneSpecsFile().getParent().resolve(MANAGEMENT_API_JSON);
             try {
                 Files.createDirectories(outputDir);
-                Files.copy(managementApiPath, outputDir.resolve("management-api.json"));
+                Files.copy(managementApiPath, outputDir.resolve(MANAGEMENT_API_JSON));
             } catch (IOException ex) {
                 throw new ProvisioningException(ex);
             }
-            if (Files.exists(Paths.get(installation).resolve(WfConstants.DOMAIN).resolve(WfConstants.CONFIGURATION))) {
+            if (hasDomain) {
                 domainRoots = readSpecsFile(getDomainSpecsFile());
             }
         } else {
             final Path home = Paths.get(installation);
             if (Files.exists(home.resolve(WfConstants.STANDALONE).resolve(WfConstants.CONFIGURATION))) {
-                standaloneFeatures = readFeatureSpecs(createStandaloneServer(installation, mimimumStability, null));
-                ModelNode result = generateModel(createStandaloneServer(installation, mimimumStability, generateCompleteModel ? "standalone.xml" : "standalone-local.xml"), generateCompleteModel, description);
+                final StandaloneDescriptions descriptions = readStandalone(installation, mimimumStability, generateCompleteModel, description);
+                standaloneFeatures = descriptions.features;
                 try {
                     if (!Files.exists(outputDir)) {
                         Files.createDirectories(outputDir);
                     }
-                    Files.write(outputDir.resolve("management-api.json"), result.toJSONString(false).getBytes());
+                    ModelNodeJsonWriter.write(descriptions.model, outputDir.resolve(MANAGEMENT_API_JSON), false);
                 } catch (IOException ex) {
                     throw new ProvisioningException(ex);
                 }
             } else {
                 throw new ProvisioningException("The installation does not include standalone configuration");
             }
-            if (Files.exists(home.resolve(WfConstants.DOMAIN).resolve(WfConstants.CONFIGURATION))) {
+            if (hasDomain) {
                 domainRoots = readFeatureSpecs(createEmbeddedHc(installation, mimimumStability));
             }
         }
@@ -259,13 +337,7 @@ public class FeatureSpecGenerator implements ForkCallback {
         rootNode.buildSpecs();
         try {
             // Sort features to produce a sorted features.json file
-            Set<String> sortedKeys = features.keys().stream()
-                    .sorted().collect(Collectors.toCollection(LinkedHashSet::new));
-            ModelNode sortedFeatures = new ModelNode();
-            for (String key : sortedKeys) {
-                sortedFeatures.get(key).set(features.get(key));
-            }
-            Files.write(outputDir.resolve("features.json"), sortedFeatures.toJSONString(false).getBytes());
+            ModelNodeJsonWriter.write(features, outputDir.resolve("features.json"), true);
         } catch (IOException ex) {
             throw new ProvisioningException(ex);
         }
@@ -289,23 +361,43 @@ public class FeatureSpecGenerator implements ForkCallback {
     private boolean isLegacy(String addressParams) {
         return !(addressParams.contains("__profile") || addressParams.contains("__host"));
     }
+
+    /**
+     * Forks a process reading the feature specs.
+     *
+     * @param minStab the minimum stability
+     * @param process {@link WfConstants#STANDALONE} or {@link WfConstants#DOMAIN} to read only the standalone server
+     * or the host controller, null to read both
+     */
+    private void fork(String minStab, String process) throws ProvisioningException {
+        final List<String> args = new ArrayList<>(Arrays.asList(installation, getStandaloneSpecsFile().toString(), getDomainSpecsFile().toString(),
+                description, generateCompleteModel ? "true" : "false", minStab));
+        if (process != null) {
+            args.add(process);
+        }
+        ForkedEmbeddedUtil.fork(this, debug, getStoredSystemProps(), args.toArray(String[]::new));
+    }
+
     @Override
     public void forkedForEmbedded(String... args) throws ConfigGeneratorException {
-        if(args.length != 5 && args.length != 6) {
+        if(args.length < 5 || args.length > 7) {
             final StringBuilder buf = new StringBuilder();
             StringUtils.append(buf, Arrays.asList(args));
-            throw new IllegalArgumentException("Expected 5-6 arguments but got " + Arrays.asList(args));
+            throw new IllegalArgumentException("Expected 5-7 arguments but got " + Arrays.asList(args));
         }
         try {
             String description = args.length > 3 ? args[3] : null;
             Boolean generateCompleteModel = args.length > 4 ? Boolean.valueOf(args[4]) : Boolean.FALSE;
-            String mimimumStability = args.length == 6 ? args[5] : null;
-            ModelNode result = readFeatureSpecs(createStandaloneServer(args[0], mimimumStability, null));
-            writeSpecsFile(Paths.get(args[1]), result);
-            ModelNode resultModel = generateModel(createStandaloneServer(args[0], mimimumStability, generateCompleteModel ? "standalone.xml" : "standalone-local.xml"), generateCompleteModel, description);
-            writeModelFile(Paths.get(args[1]).toAbsolutePath().getParent().resolve("management-api.json"), resultModel);
-            if (Files.exists(Paths.get(args[0]).resolve(WfConstants.DOMAIN).resolve(WfConstants.CONFIGURATION))) {
-                result = readFeatureSpecs(createEmbeddedHc(args[0], mimimumStability));
+            String mimimumStability = args.length > 5 ? args[5] : null;
+            String process = args.length == 7 ? args[6] : null;
+            if (!WfConstants.DOMAIN.equals(process)) {
+                final StandaloneDescriptions descriptions = readStandalone(args[0], mimimumStability, generateCompleteModel, description);
+                writeSpecsFile(Paths.get(args[1]), descriptions.features);
+                writeModelFile(Paths.get(args[1]).toAbsolutePath().getParent().resolve(MANAGEMENT_API_JSON), descriptions.model);
+            }
+            if (!WfConstants.STANDALONE.equals(process)
+                    && Files.exists(Paths.get(args[0]).resolve(WfConstants.DOMAIN).resolve(WfConstants.CONFIGURATION))) {
+                ModelNode result = readFeatureSpecs(createEmbeddedHc(args[0], mimimumStability));
                 writeSpecsFile(Paths.get(args[2]), result);
             }
         } catch (ProvisioningException e) {
@@ -363,8 +455,77 @@ public class FeatureSpecGenerator implements ForkCallback {
         } catch (IOException | XMLStreamException e) {
             throw new ProvisioningException("Failed to parse " + name + " spec " + path, e);
         }
-        parsedInheritedSpecs = CollectionUtils.put(parsedInheritedSpecs, name, spec);
-        return spec;
+        final FeatureSpec previous = parsedInheritedSpecs.putIfAbsent(name, spec);
+        return previous == null ? spec : previous;
+    }
+
+    /**
+     * Returns the ID parameters of an inherited spec.
+     *
+     * @param name the spec name
+     * @return the ID parameters or null if the spec is not inherited
+     */
+    List<FeatureParameterSpec> getInheritedIdParams(String name) throws ProvisioningException {
+        final Path indexFile = inheritedSpecIndexes.get(name);
+        if (indexFile == null) {
+            final FeatureSpec spec = getInheritedSpec(name);
+            return spec == null ? null : spec.getIdParams();
+        }
+        FeatureSpecIndex index = loadedSpecIndexes.get(indexFile);
+        if (index == null) {
+            try {
+                index = FeatureSpecIndex.load(indexFile);
+            } catch (IOException e) {
+                throw new ProvisioningException(Errors.readFile(indexFile), e);
+            }
+            if (index == null) {
+                throw new ProvisioningException("Failed to load feature spec index " + indexFile);
+            }
+            final FeatureSpecIndex previous = loadedSpecIndexes.putIfAbsent(indexFile, index);
+            if (previous != null) {
+                index = previous;
+            }
+        }
+        return index.getIdParams(name);
+    }
+
+    /**
+     * Reads the feature descriptions and the management model of the standalone server. The feature descriptions are
+     * read from the default configuration and the model from standalone-local.xml, unless the complete model is generated.
+     * When both configurations are the same, a single server is booted.
+     */
+    private static StandaloneDescriptions readStandalone(String jbossHome, String minimumStability, boolean all, String description) throws ProvisioningException {
+        final String modelConfig = all ? STANDALONE_XML : STANDALONE_LOCAL_XML;
+        if (!isSameConfig(jbossHome, STANDALONE_XML, modelConfig)) {
+            final ModelNode features = readFeatureSpecs(createStandaloneServer(jbossHome, minimumStability, null));
+            return new StandaloneDescriptions(features, generateModel(createStandaloneServer(jbossHome, minimumStability, modelConfig), all, description));
+        }
+        final EmbeddedManagedProcess server = createStandaloneServer(jbossHome, minimumStability, STANDALONE_XML);
+        try {
+            server.start();
+            return new StandaloneDescriptions(readFeatureDescriptions(server), readModelDescription(server, all, description));
+        } catch (EmbeddedProcessStartException ex) {
+            throw new ProvisioningException("Failed to read feature spec descriptions", ex);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static boolean isSameConfig(String jbossHome, String config, String otherConfig) throws ProvisioningException {
+        if (config.equals(otherConfig)) {
+            return true;
+        }
+        final Path configDir = Paths.get(jbossHome).resolve(WfConstants.STANDALONE).resolve(WfConstants.CONFIGURATION);
+        final Path configFile = configDir.resolve(config);
+        final Path otherConfigFile = configDir.resolve(otherConfig);
+        if (!Files.exists(configFile) || !Files.exists(otherConfigFile)) {
+            return false;
+        }
+        try {
+            return Files.mismatch(configFile, otherConfigFile) < 0;
+        } catch (IOException e) {
+            throw new ProvisioningException(Errors.readFile(otherConfigFile), e);
+        }
     }
 
     private static EmbeddedManagedProcess createStandaloneServer(String jbossHome, String minimumStability, String config) {
@@ -392,14 +553,7 @@ public class FeatureSpecGenerator implements ForkCallback {
     private static ModelNode generateModel(final EmbeddedManagedProcess server, Boolean all, String description) throws ProvisioningException {
         try {
             server.start();
-            final ModelNode model;
-            if (!all) {
-                model = readModel(server, description);
-            } else {
-                model = readAll(server, description);
-            }
-            model.get("possible-capabilities").set(getPossibleCapabilities(server.getModelControllerClient()));
-            return model;
+            return readModelDescription(server, all, description);
         } catch (EmbeddedProcessStartException ex) {
             throw new ProvisioningException("Failed to read feature spec descriptions", ex);
         } finally {
@@ -407,6 +561,17 @@ public class FeatureSpecGenerator implements ForkCallback {
         }
     }
 
+    private static ModelNode readModelDescription(final EmbeddedManagedProcess server, boolean all, String description) throws ProvisioningException {
+        final ModelNode model;
+        if (!all) {
+            model = readModel(server, description);
+        } else {
+            model = readAll(server, description);
+        }
+        model.get("possible-capabilities").set(getPossibleCapabilities(server.getModelControllerClient()));
+        return model;
+    }
+
     private static ModelNode getPossibleCapabilities(ModelControllerClient client) throws ProvisioningException {
         final ModelNode address = Operations.createAddress("core-service", "capability-registry");
         ModelNode result;
@@ -426,18 +591,34 @@ public class FeatureSpecGenerator implements ForkCallback {
         List<String> subsystems = listSubsystems(server);
         ModelNode result = new ModelNode().setEmptyObject();
         ModelNode subsystemNodes = result.get(CHILDREN).get(SUBSYSTEM).get(MODEL_DESCRIPTION);
-        for (String subsystem : subsystems) {
-            ModelNode address = Operations.createAddress(SUBSYSTEM, subsystem);
-            ModelNode subsystemDescription = readResourceDescription(server, address, true);
-            subsystemDescription.get(ClientConstants.ADDRESS).add(address);
-            subsystemNodes.get(subsystem).set(subsystemDescription);
-        }
-        ModelNode subsystemsDescription = readResourceDescription(server, Operations.createAddress().setEmptyList(), false);
-        ModelNode deploymentDescription = readResourceDescription(server, Operations.createAddress(DEPLOYMENT), false);
+        final ModelNode subsystemsDescription;
+        ModelNode deploymentDescription;
+        final ModelNode deploymentSubsystems;
+        // the descriptions are read concurrently and assembled in the order of the subsystems
+        final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_READS);
+        try {
+            final List<ModelNode> addresses = new ArrayList<>(subsystems.size());
+            final List<ModelNode> deploymentAddresses = new ArrayList<>(subsystems.size());
+            for (String subsystem : subsystems) {
+                addresses.add(Operations.createAddress(SUBSYSTEM, subsystem));
+                deploymentAddresses.add(Operations.createAddress(ClientConstants.DEPLOYMENT, "*", SUBSYSTEM, subsystem));
+            }
+            final List<CompletableFuture<ModelNode>> subsystemDescriptions = readResourceDescriptions(server, addresses, true, executor);
+            final List<CompletableFuture<ModelNode>> deploymentSubsystemDescriptions = readResourceDescriptions(server, deploymentAddresses, true, executor);
+            for (int i = 0; i < subsystems.size(); i++) {
+                ModelNode subsystemDescription = join(subsystemDescriptions.get(i));
+                subsystemDescription.get(ClientConstants.ADDRESS).add(addresses.get(i));
+                subsystemNodes.get(subsystems.get(i)).set(subsystemDescription);
+            }
+            subsystemsDescription = readResourceDescription(server, Operations.createAddress().setEmptyList(), false);
+            deploymentDescription = readResourceDescription(server, Operations.createAddress(DEPLOYMENT), false);
+            deploymentSubsystems = listDeploymentSubsystems(subsystems, deploymentSubsystemDescriptions);
+        } finally {
+            executor.shutdownNow();
+        }
         if (deploymentDescription.hasDefined(DESCRIPTION)) {
             deploymentDescription = deploymentDescription.get(DESCRIPTION);
         }
-        ModelNode deploymentSubsystems = listDeploymentSubsystems(server, subsystems);
         ModelNode subsystemDescription = subsystemsDescription.get(CHILDREN).get(SUBSYSTEM).get(DESCRIPTION);
         if (deploymentSubsystems.isDefined() && !deploymentSubsystems.asPropertyList().isEmpty()) {
             result.get(CHILDREN).get(DEPLOYMENT).get(MODEL_DESCRIPTION).get("*").get(CHILDREN).get(SUBSYSTEM).get(DESCRIPTION).set(subsystemDescription);
@@ -492,12 +673,12 @@ public class FeatureSpecGenerator implements ForkCallback {
         return names;
     }
 
-    private static ModelNode listDeploymentSubsystems(final EmbeddedManagedProcess server, List<String> subsystems) throws ProvisioningException {
+    private static ModelNode listDeploymentSubsystems(List<String> subsystems, List<CompletableFuture<ModelNode>> descriptions) {
         ModelNode details = new ModelNode().addEmptyObject();
-        for (String subsystem : subsystems) {
-            ModelNode address = Operations.createAddress(ClientConstants.DEPLOYMENT, "*", SUBSYSTEM, subsystem);
+        for (int i = 0; i < subsystems.size(); i++) {
+            final String subsystem = subsystems.get(i);
             try {
-                final ModelNode opResult = readResourceDescription(server, address, true);
+                final ModelNode opResult = join(descriptions.get(i));
                 details.get(subsystem).set(opResult);
             } catch (ProvisioningException ex) {
                 System.out.println("Couldn't get deployment details for the subsystem " + subsystem);
@@ -506,6 +687,37 @@ public class FeatureSpecGenerator implements ForkCallback {
         return details;
     }
 
+    /**
+     * Submits a read-resource-description operation per address to the executor.
+     *
+     * @return the results, in the order of the addresses
+     */
+    private static List<CompletableFuture<ModelNode>> readResourceDescriptions(final EmbeddedManagedProcess server, List<ModelNode> addresses,
+            boolean recursive, ExecutorService executor) {
+        final List<CompletableFuture<ModelNode>> results = new ArrayList<>(addresses.size());
+        for (ModelNode address : addresses) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return readResourceDescription(server, address, recursive);
+                } catch (ProvisioningException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        return results;
+    }
+
+    private static ModelNode join(CompletableFuture<ModelNode> result) throws ProvisioningException {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ProvisioningException) {
+                throw (ProvisioningException) e.getCause();
+            }
+            throw new ProvisioningException("Failed to read feature descriptions", e.getCause());
+        }
+    }
+
     private static ModelNode readResourceDescription(final EmbeddedManagedProcess server, ModelNode address, boolean recursive) throws ProvisioningException {
         final ModelNode op = Operations.createOperation("read-resource-description", address);
         final boolean multi = isStarAddress(address);
@@ -549,18 +761,7 @@ public class FeatureSpecGenerator implements ForkCallback {
     private static ModelNode readFeatureSpecs(final EmbeddedManagedProcess server) throws ProvisioningException {
         try {
             server.start();
-            final ModelNode op = Operations.createOperation("read-feature-description");
-            op.get(ClientConstants.RECURSIVE).set(true);
-            final ModelNode result;
-            try {
-                result = server.getModelControllerClient().execute(op);
-            } catch (IOException e) {
-                throw new ProvisioningException("Failed to read feature descriptions", e);
-            }
-            if (!Operations.isSuccessfulOutcome(result)) {
-                throw new ProvisioningException(Operations.getFailureDescription(result).asString());
-            }
-            return result.require(ClientConstants.RESULT).require("feature");
+            return readFeatureDescriptions(server);
         } catch (EmbeddedProcessStartException ex) {
             throw new ProvisioningException("Failed to read feature spec descriptions", ex);
         } finally {
@@ -568,6 +769,21 @@ public class FeatureSpecGenerator implements ForkCallback {
         }
     }
 
+    private static ModelNode readFeatureDescriptions(final EmbeddedManagedProcess server) throws ProvisioningException {
+        final ModelNode op = Operations.createOperation("read-feature-description");
+        op.get(ClientConstants.RECURSIVE).set(true);
+        final ModelNode result;
+        try {
+            result = server.getModelControllerClient().execute(op);
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to read feature descriptions", e);
+        }
+        if (!Operations.isSuccessfulOutcome(result)) {
+            throw new ProvisioningException(Operations.getFailureDescription(result).asString());
+        }
+        return result.require(ClientConstants.RESULT).require("feature");
+    }
+
     private ModelNode readSpecsFile(Path specsFile) throws ProvisioningException {
         try (InputStream is = Files.newInputStream(specsFile)) {
             return ModelNode.fromStream(is);
@@ -585,8 +801,8 @@ public class FeatureSpecGenerator implements ForkCallback {
     }
 
     private void writeModelFile(Path specsFile, ModelNode specs) throws ProvisioningException {
-        try (BufferedWriter writer = Files.newBufferedWriter(specsFile)) {
-            writer.write(specs.toJSONString(false));
+        try {
+            ModelNodeJsonWriter.write(specs, specsFile, false);
         } catch (IOException e) {
             throw new ProvisioningException(Errors.writeFile(specsFile), e);
         }
@@ -20,15 +20,21 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -65,6 +71,8 @@ class FeatureSpecNode {
     private static final String CORE_SERVICE_MANAGEMENT = "core-service.management";
     private static final String EXTENSION = "extension";
     private static final String SUBSYSTEM_PREFIX = "subsystem.";
+    // maximum number of spec files written concurrently
+    private static final int MAX_CONCURRENT_WRITES = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
 
     private String getHostPrefix() {
         return isLegacy ? "host" : "__host";
@@ -396,7 +404,11 @@ class FeatureSpecNode {
         return value;
     }
 
-    private void persistSpec(String name, ModelNode descr, int model) throws ProvisioningException {
+    /**
+     * Computes the spec and adds it to the specs to persist. Computing a spec may extend the id parameters
+     * of the specs referencing it, so the specs are computed one by one, in the order of the tree.
+     */
+    private void computeSpec(String name, ModelNode descr, int model, Map<String, FeatureSpec> specs) throws ProvisioningException {
         final FeatureSpec.Builder builder = FeatureSpec.builder(name);
         final FeatureAnnotation annotation = getAnnotation(descr);
         if(annotation != null) {
@@ -429,10 +441,10 @@ class FeatureSpecNode {
                 final boolean paramMapping = ref.hasDefined("mappings");
 
                 final FeatureSpecNode targetSpec = gen.getSpec(featureRefName);
-                final FeatureSpec inheritedSpec = targetSpec.isGenerate(model) ? null : gen.getInheritedSpec(featureRefName);
-                if(inheritedSpec != null) {
+                final List<FeatureParameterSpec> inheritedIdParams = targetSpec.isGenerate(model) ? null : gen.getInheritedIdParams(featureRefName);
+                if(inheritedIdParams != null) {
                     boolean newIdParams = false;
-                    for(FeatureParameterSpec refParam : inheritedSpec.getIdParams()) {
+                    for(FeatureParameterSpec refParam : inheritedIdParams) {
                         boolean present = false;
                         for (ModelNode param : paramsDescr) {
                             if(param.get("name").asString().equals(refParam.getName())) {
@@ -505,21 +517,57 @@ class FeatureSpecNode {
                 }
             }
         }
-        final FeatureSpec spec = builder.build();
-        final Path specDir = gen.outputDir.resolve(spec.getName());
-        if (Files.notExists(specDir)) {
+        specs.put(name, builder.build());
+        gen.increaseSpecCount();
+    }
+
+    /**
+     * Writes the specs to the output directory. The spec directories are created first, the spec files are then
+     * written concurrently.
+     */
+    private void persistSpecs(Collection<FeatureSpec> specs) throws ProvisioningException {
+        for (FeatureSpec spec : specs) {
+            final Path specDir = gen.outputDir.resolve(spec.getName());
             try {
                 Files.createDirectories(specDir);
             } catch (IOException e) {
                 throw new ProvisioningException(Errors.mkdirs(specDir), e);
             }
         }
+        final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_WRITES);
         try {
-            FeatureSpecXmlWriter.getInstance().write(spec, specDir.resolve("spec.xml"));
+            final List<CompletableFuture<Void>> writes = new ArrayList<>(specs.size());
+            for (FeatureSpec spec : specs) {
+                writes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        writeSpec(spec);
+                    } catch (ProvisioningException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+            for (CompletableFuture<Void> write : writes) {
+                try {
+                    write.join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof ProvisioningException) {
+                        throw (ProvisioningException) e.getCause();
+                    }
+                    throw new ProvisioningException("Failed to write feature specs", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void writeSpec(FeatureSpec spec) throws ProvisioningException {
+        final Path specXml = gen.outputDir.resolve(spec.getName()).resolve("spec.xml");
+        try {
+            FeatureSpecXmlWriter.getInstance().write(spec, specXml);
         } catch (XMLStreamException | IOException e) {
-            throw new ProvisioningException(Errors.writeFile(specDir.resolve("spec.xml")), e);
+            throw new ProvisioningException(Errors.writeFile(specXml), e);
         }
-        gen.increaseSpecCount();
     }
 
     /**
@@ -1023,8 +1071,10 @@ class FeatureSpecNode {
     void buildSpecs() throws ProvisioningException {
         gen.debug("We are in legacy mode " + isLegacy +" !!!!!!");
         mergeAllSpecs();
-        buildSpec();
-        buildChildSpecs();
+        final Map<String, FeatureSpec> specs = new LinkedHashMap<>();
+        buildSpec(specs);
+        buildChildSpecs(specs);
+        persistSpecs(specs.values());
     }
 
     private void mergeAllSpecs() throws ProvisioningException {
@@ -1096,19 +1146,19 @@ class FeatureSpecNode {
         }
     }
 
-    private void buildChildSpecs() throws ProvisioningException {
+    private void buildChildSpecs(Map<String, FeatureSpec> specs) throws ProvisioningException {
         if(children.isEmpty()) {
             return;
         }
         for(FeatureSpecNode child : children.values()) {
-            child.buildSpec();
-            child.buildChildSpecs();
+            child.buildSpec(specs);
+            child.buildChildSpecs(specs);
         }
     }
 
-    private void buildSpec() throws ProvisioningException {
+    private void buildSpec(Map<String, FeatureSpec> specs) throws ProvisioningException {
         if(standaloneDescr != null && generateStandalone) {
-            persistSpec(standaloneName, standaloneDescr, STANDALONE_MODEL);
+            computeSpec(standaloneName, standaloneDescr, STANDALONE_MODEL, specs);
             if (!features.has(standaloneDescr.get("name").asString())) {
                 // All features are put flat in the exported file.
                 standaloneDescr.remove("children");
@@ -1124,13 +1174,13 @@ class FeatureSpecNode {
             }
         }
         if(profileDescr != null && generateProfile) {
-            persistSpec(profileName, profileDescr, PROFILE_MODEL);
+            computeSpec(profileName, profileDescr, PROFILE_MODEL, specs);
         }
         if(domainDescr != null && generateDomain) {
-            persistSpec(domainName, domainDescr, DOMAIN_MODEL);
+            computeSpec(domainName, domainDescr, DOMAIN_MODEL, specs);
         }
         if(hostDescr != null && generateHost) {
-            persistSpec(hostName, hostDescr, HOST_MODEL);
+            computeSpec(hostName, hostDescr, HOST_MODEL, specs);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin.featurespec.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Writes a {@link ModelNode} as multi-line JSON while traversing it, instead of building the whole JSON
+ * document in memory as {@link ModelNode#toJSONString(boolean)} does.
+ * The output is the same as {@code toJSONString(false)}: objects and lists with more than one element
+ * are written on multiple lines, the others on a single line, and the other values are formatted by
+ * {@link ModelNode} and indented at their depth.
+ */
+final class ModelNodeJsonWriter {
+
+    private static final String INDENT = "    ";
+
+    private final Writer writer;
+
+    private ModelNodeJsonWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes a model to a file.
+     *
+     * @param node the model to write
+     * @param file the target file
+     * @param sortRootKeys whether the keys of the root object are written in their natural order
+     * instead of their insertion order
+     * @throws IOException in case of a write failure
+     */
+    static void write(ModelNode node, Path file, boolean sortRootKeys) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8))) {
+            write(node, writer, sortRootKeys);
+        }
+    }
+
+    static void write(ModelNode node, Writer writer, boolean sortRootKeys) throws IOException {
+        final ModelNodeJsonWriter jsonWriter = new ModelNodeJsonWriter(writer);
+        if (sortRootKeys && node.getType() == ModelType.OBJECT) {
+            jsonWriter.writeObject(node, new TreeSet<>(node.keys()), 0);
+        } else {
+            jsonWriter.writeValue(node, 0);
+        }
+    }
+
+    private void writeValue(ModelNode node, int indent) throws IOException {
+        switch (node.getType()) {
+            case OBJECT:
+                writeObject(node, node.keys(), indent);
+                break;
+            case LIST:
+                writeList(node.asList(), indent);
+                break;
+            default:
+                writeIndented(node.toJSONString(false), indent);
+        }
+    }
+
+    private void writeObject(ModelNode node, Collection<String> keys, int indent) throws IOException {
+        writer.write('{');
+        final boolean multiLine = keys.size() > 1;
+        final int valueIndent = multiLine ? indent + 1 : indent;
+        if (multiLine) {
+            newLine(valueIndent);
+        }
+        final Iterator<String> i = keys.iterator();
+        while (i.hasNext()) {
+            final String key = i.next();
+            writer.write(new ModelNode(key).toJSONString(true));
+            writer.write(" : ");
+            writeValue(node.get(key), valueIndent);
+            if (i.hasNext()) {
+                separator(multiLine, valueIndent);
+            }
+        }
+        if (multiLine) {
+            newLine(indent);
+        }
+        writer.write('}');
+    }
+
+    private void writeList(List<ModelNode> list, int indent) throws IOException {
+        writer.write('[');
+        final boolean multiLine = list.size() > 1;
+        final int valueIndent = multiLine ? indent + 1 : indent;
+        if (multiLine) {
+            newLine(valueIndent);
+        }
+        final Iterator<ModelNode> i = list.iterator();
+        while (i.hasNext()) {
+            writeValue(i.next(), valueIndent);
+            if (i.hasNext()) {
+                separator(multiLine, valueIndent);
+            }
+        }
+        if (multiLine) {
+            newLine(indent);
+        }
+        writer.write(']');
+    }
+
+    private void separator(boolean multiLine, int indent) throws IOException {
+        if (multiLine) {
+            writer.write(',');
+            newLine(indent);
+        } else {
+            writer.write(", ");
+        }
+    }
+
+    /**
+     * Writes a value formatted by {@link ModelNode} at the root, indenting its lines at the given depth.
+     */
+    private void writeIndented(String json, int indent) throws IOException {
+        int start = 0;
+        int i = json.indexOf('\n');
+        while (i >= 0) {
+            writer.write(json, start, i - start);
+            newLine(indent);
+            start = i + 1;
+            i = json.indexOf('\n', start);
+        }
+        writer.write(json, start, json.length() - start);
+    }
+
+    private void newLine(int indent) throws IOException {
+        writer.write('\n');
+        for (int i = 0; i < indent; ++i) {
+            writer.write(INDENT);
+        }
+    }
+}
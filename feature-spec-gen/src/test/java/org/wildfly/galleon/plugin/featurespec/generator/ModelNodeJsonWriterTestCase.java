@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin.featurespec.generator;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeSet;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModelNodeJsonWriterTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testSameOutputAsModelNode() throws Exception {
+        final ModelNode model = new ModelNode();
+        model.get("empty-object").setEmptyObject();
+        model.get("empty-list").setEmptyList();
+        model.get("undefined");
+        model.get("single-object", "name").set("value");
+        model.get("single-object-of-object", "nested", "a").set(1);
+        model.get("single-object-of-object", "nested", "b").set(true);
+        model.get("single-list").add("one");
+        model.get("single-list-of-object").add().get("a").set(1L);
+        model.get("single-list-of-object").get(0).get("b").set(2.5);
+        final ModelNode list = model.get("list");
+        list.add(new BigDecimal("1.10"));
+        list.add(new BigInteger("12345678901234567890"));
+        list.add().get("x").set("y");
+        list.add().setEmptyObject();
+        list.add().add("nested").add("list");
+        list.add("a", "property");
+        final ModelNode propertyValue = new ModelNode();
+        propertyValue.get("c").set(1);
+        propertyValue.get("d").set(2);
+        list.add("b", propertyValue);
+        final ModelNode values = model.get("values");
+        values.get("string").set("quote \" backslash \\ tab \t new line \n unicode é");
+        values.get("expression").set(new ValueExpression("${jboss.bind.address:127.0.0.1}"));
+        values.get("bytes").set(new byte[] {1, 2, 3});
+        values.get("type").set(ModelType.STRING);
+        values.get("int").set(-1);
+        values.get("property").set("name", new ModelNode().set("value"));
+        values.get("key with \"quotes\"").set("v");
+
+        assertSameOutput(model, false, model);
+        assertSameOutput(new ModelNode(), false, new ModelNode());
+        assertSameOutput(new ModelNode().setEmptyObject(), false, new ModelNode().setEmptyObject());
+        assertSameOutput(new ModelNode().add("single"), false, new ModelNode().add("single"));
+        assertSameOutput(new ModelNode("string"), false, new ModelNode("string"));
+
+        final ModelNode sorted = new ModelNode();
+        for (String key : new TreeSet<>(model.keys())) {
+            sorted.get(key).set(model.get(key));
+        }
+        assertSameOutput(model, true, sorted);
+    }
+
+    @Test
+    public void testWriteToFile() throws Exception {
+        final ModelNode model = new ModelNode();
+        model.get("b", "c").set("é");
+        model.get("a").add(1).add(2);
+        final Path file = temp.newFile("model.json").toPath();
+        ModelNodeJsonWriter.write(model, file, false);
+        Assert.assertArrayEquals(model.toJSONString(false).getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file));
+    }
+
+    private static void assertSameOutput(ModelNode node, boolean sortRootKeys, ModelNode expected) throws Exception {
+        final StringWriter writer = new StringWriter();
+        ModelNodeJsonWriter.write(node, writer, sortRootKeys);
+        Assert.assertEquals(expected.toJSONString(false), writer.toString());
+    }
+}
@@ -20,8 +20,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
+import org.jboss.galleon.MessageWriter;
 import org.jboss.galleon.ProvisioningException;
 import org.jboss.galleon.universe.maven.MavenArtifact;
 import org.wildfly.galleon.plugin.WfInstallPlugin.ArtifactResolver;
@@ -41,10 +44,23 @@ abstract class AbstractArtifactInstaller implements ShadedModel.Installer {
 
     private final Path generatedMavenRepo;
     private final ArtifactResolver resolver;
+    private final boolean hardLinks;
+    private final ArtifactResolutionStats stats;
+    private final MessageWriter log;
+    // whether the fallback from hard-links to copies has been logged
+    private final AtomicBoolean linkFallbackLogged = new AtomicBoolean();
+    // files installed in the generated repository, mapped to the file they have been installed from
+    private final Map<Path, Path> installedFiles = new ConcurrentHashMap<>();
+    // resolved pom files, keyed by GAV
+    private final Map<String, Path> resolvedPoms = new ConcurrentHashMap<>();
 
-    AbstractArtifactInstaller(ArtifactResolver resolver, Path generatedMavenRepo) {
+    AbstractArtifactInstaller(ArtifactResolver resolver, Path generatedMavenRepo, boolean hardLinks, ArtifactResolutionStats stats,
+            MessageWriter log) {
         this.resolver = resolver;
         this.generatedMavenRepo = generatedMavenRepo;
+        this.hardLinks = hardLinks;
+        this.stats = stats;
+        this.log = log;
     }
 
     abstract String installArtifactFat(MavenArtifact artifact, Path targetDir) throws IOException,
@@ -64,6 +80,10 @@ abstract class AbstractArtifactInstaller implements ShadedModel.Installer {
         return resolver;
     }
 
+    ArtifactResolutionStats getStats() {
+        return stats;
+    }
+
     static Path getPomArtifactPath(MavenArtifact artifact, ArtifactResolver resolver) throws ProvisioningException {
         MavenArtifact pomArtifact = new MavenArtifact();
         pomArtifact.setGroupId(artifact.getGroupId());
@@ -91,11 +111,50 @@ abstract class AbstractArtifactInstaller implements ShadedModel.Installer {
 
     void installInGeneratedRepo(MavenArtifact artifact, String version, Path path) throws IOException, ProvisioningException {
         if (getGeneratedMavenRepo() != null) {
-            Path versionPath = getLocalRepoPath(artifact, version, getGeneratedMavenRepo());
+            Path versionPath = getLocalRepoPath(artifact, version, getGeneratedMavenRepo(), false);
             Path actualTarget = versionPath.resolve(path.getFileName().toString());
-            Files.copy(path, actualTarget, StandardCopyOption.REPLACE_EXISTING);
-            Path pomFile = getPomArtifactPath(artifact, getArtifactResolver());
-            Files.copy(pomFile, versionPath.resolve(pomFile.getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+            installInGeneratedRepo(path, actualTarget);
+            Path pomFile = getPomArtifactPath(artifact);
+            installInGeneratedRepo(pomFile, versionPath.resolve(pomFile.getFileName().toString()));
+        }
+    }
+
+    /**
+     * Resolves the pom file of the artifact once per GAV.
+     */
+    private Path getPomArtifactPath(MavenArtifact artifact) throws ProvisioningException {
+        final String gav = artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getVersion();
+        Path pomFile = resolvedPoms.get(gav);
+        if (pomFile == null) {
+            pomFile = getPomArtifactPath(artifact, getArtifactResolver());
+            resolvedPoms.put(gav, pomFile);
+        }
+        return pomFile;
+    }
+
+    /**
+     * Copies, or hard-links if enabled, a file in the generated repository. A file already installed
+     * from the same source is not installed again.
+     */
+    private void installInGeneratedRepo(Path src, Path target) throws IOException {
+        if (src.equals(installedFiles.get(target))) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        if (hardLinks) {
+            try {
+                Files.deleteIfExists(target);
+                Files.createLink(target, src);
+                installedFiles.put(target, src);
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                // Not supported by the file system or the files are on different file stores, fallback to a copy.
+                if (linkFallbackLogged.compareAndSet(false, true)) {
+                    log.verbose(e, "Failed to hard-link %s to %s, copying the files of the generated Maven repository instead", target, src);
+                }
+            }
         }
+        stats.copied(FileCopier.copy(src, target));
+        installedFiles.put(target, src);
     }
 }
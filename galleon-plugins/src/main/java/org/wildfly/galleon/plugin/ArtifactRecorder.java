@@ -19,22 +19,53 @@ package org.wildfly.galleon.plugin;
 import org.jboss.galleon.universe.maven.MavenArtifact;
 import org.jboss.galleon.universe.maven.MavenUniverseException;
 import org.jboss.galleon.util.HashUtils;
-import org.jboss.galleon.util.IoUtils;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/**
+ * Records the artifacts of the installation. The recorder is thread-safe, the updates of
+ * an artifact coordinates are atomic.
+ */
 public class ArtifactRecorder {
     protected static final String ARTIFACT_LIST_FILE = "artifacts.txt";
     private static final String SEPARATOR = "::";
+    private static final int MAX_CONCURRENT_HASHES = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
     private final Path stagedDir;
     private final Path cacheDir;
     private final Path artifactList;
-    private final HashMap<String, Path> cachedArtifacts = new HashMap<>();
+    // a cached artifact is mapped before it is copied, its future completes once the copy is complete
+    private final ConcurrentHashMap<String, CompletableFuture<RecordedArtifact>> cachedArtifacts = new ConcurrentHashMap<>();
+
+    private static class RecordedArtifact {
+        private final Path path;
+        // null until the file content is known
+        private volatile String hash;
+
+        RecordedArtifact(Path path, String hash) {
+            this.path = path;
+            this.hash = hash;
+        }
+    }
 
     public ArtifactRecorder(Path stagedDir, Path cacheDir) throws IOException {
         this.stagedDir = stagedDir;
@@ -71,15 +102,34 @@ public class ArtifactRecorder {
      * @throws IOException
      */
     public void record(MavenArtifact artifact, Path target) throws IOException {
-        final String coord = artifact.getCoordsAsString();
-        if (cachedArtifacts.containsKey(coord)) {
-            // if the artifact file was cached and the new target points to a different file, remove the old cached file
-            final Path cachedPath = cachedArtifacts.get(coord);
-            if (cachedPath.toAbsolutePath().startsWith(cacheDir) && !cachedPath.equals(target)) {
-                Files.delete(cachedPath);
-            }
+        record(artifact, target, null);
+    }
+
+    private void record(MavenArtifact artifact, Path target, String hash) throws IOException {
+        final CompletableFuture<RecordedArtifact> previous = cachedArtifacts.put(artifact.getCoordsAsString(),
+                CompletableFuture.completedFuture(new RecordedArtifact(target, hash)));
+        if (previous == null) {
+            return;
+        }
+        // if the artifact file was cached and the new target points to a different file, remove the old cached file
+        final RecordedArtifact recorded = await(previous);
+        if (recorded != null && recorded.path.toAbsolutePath().startsWith(cacheDir) && !recorded.path.equals(target)) {
+            Files.delete(recorded.path);
         }
-        cachedArtifacts.put(coord, target);
+    }
+
+    /**
+     * copies {@code src} to {@code target} and records the artifact using {@link ArtifactRecorder#record(MavenArtifact, Path)}.
+     * The hash of the artifact is computed while it is copied.
+     *
+     * @param artifact
+     * @param src
+     * @param target
+     * @throws IOException
+     */
+    public void copy(MavenArtifact artifact, Path src, Path target) throws IOException {
+        final String hash = copyAndHash(src, target);
+        record(artifact, target, hash);
     }
 
     /**
@@ -91,10 +141,40 @@ public class ArtifactRecorder {
      * @throws IOException
      */
     public void cache(MavenArtifact artifact, Path jarSrc) throws MavenUniverseException, IOException {
-        if (!cachedArtifacts.containsKey(artifact.getCoordsAsString())) {
-            IoUtils.copy(jarSrc, cacheDir.resolve(artifact.getArtifactFileName()));
+        final Path target = cacheDir.resolve(artifact.getArtifactFileName());
+        final String coords = artifact.getCoordsAsString();
+        // the copy happens once, concurrent calls for the same coordinates wait for it to complete
+        while (true) {
+            final CompletableFuture<RecordedArtifact> copy = new CompletableFuture<>();
+            final CompletableFuture<RecordedArtifact> existing = cachedArtifacts.putIfAbsent(coords, copy);
+            if (existing != null) {
+                if (await(existing) != null) {
+                    return;
+                }
+                // the copy has failed and has been unmapped, it is attempted again
+                continue;
+            }
+            try {
+                copy.complete(new RecordedArtifact(target, copyAndHash(jarSrc, target)));
+            } catch (IOException | RuntimeException e) {
+                cachedArtifacts.remove(coords, copy);
+                copy.completeExceptionally(e);
+                throw e;
+            }
+            return;
+        }
+    }
 
-            record(artifact, cacheDir.resolve(artifact.getArtifactFileName()));
+    /**
+     * Waits for the artifact to be recorded.
+     *
+     * @return the recorded artifact or null if caching the artifact has failed
+     */
+    private static RecordedArtifact await(CompletableFuture<RecordedArtifact> recorded) {
+        try {
+            return recorded.join();
+        } catch (CompletionException e) {
+            return null;
         }
     }
 
@@ -103,13 +183,91 @@ public class ArtifactRecorder {
      * @throws IOException
      */
     public void writeCacheManifest() throws IOException {
-        final StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, Path> entry : cachedArtifacts.entrySet()) {
-            final String hash = HashUtils.hashFile(entry.getValue());
-            final Path relativePath = stagedDir.relativize(entry.getValue());
-            final String universalPath = relativePath.toString().replace(File.separatorChar, '/');
-            sb.append(entry.getKey()).append(SEPARATOR).append(hash).append(SEPARATOR).append(universalPath).append("\n");
+        final Map<String, RecordedArtifact> entries = new TreeMap<>();
+        for (Map.Entry<String, CompletableFuture<RecordedArtifact>> entry : cachedArtifacts.entrySet()) {
+            final RecordedArtifact recorded = await(entry.getValue());
+            if (recorded != null) {
+                entries.put(entry.getKey(), recorded);
+            }
+        }
+        hashRecordedArtifacts(entries.values());
+        // the list is written in a temporary file that replaces the previous list once complete
+        final Path tmpList = Files.createTempFile(cacheDir, ARTIFACT_LIST_FILE, ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpList)) {
+                for (Map.Entry<String, RecordedArtifact> entry : entries.entrySet()) {
+                    final Path relativePath = stagedDir.relativize(entry.getValue().path);
+                    final String universalPath = relativePath.toString().replace(File.separatorChar, '/');
+                    writer.write(entry.getKey());
+                    writer.write(SEPARATOR);
+                    writer.write(entry.getValue().hash);
+                    writer.write(SEPARATOR);
+                    writer.write(universalPath);
+                    writer.write('\n');
+                }
+            }
+            try {
+                Files.move(tmpList, artifactList, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpList, artifactList, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpList);
+        }
+    }
+
+    /**
+     * Hashes the artifacts that were not copied by the recorder, concurrently on a bounded pool
+     * when there are several of them.
+     */
+    private static void hashRecordedArtifacts(Collection<RecordedArtifact> artifacts) throws IOException {
+        final List<RecordedArtifact> unhashed = new ArrayList<>();
+        for (RecordedArtifact artifact : artifacts) {
+            if (artifact.hash == null) {
+                unhashed.add(artifact);
+            }
+        }
+        if (unhashed.size() < 2) {
+            for (RecordedArtifact artifact : unhashed) {
+                artifact.hash = FileCopier.hash(artifact.path);
+            }
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(unhashed.size(), MAX_CONCURRENT_HASHES));
+        try {
+            final List<Future<?>> futures = new ArrayList<>(unhashed.size());
+            for (RecordedArtifact artifact : unhashed) {
+                futures.add(executor.submit(() -> {
+                    artifact.hash = FileCopier.hash(artifact.path);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IOException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while hashing the recorded artifacts", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String copyAndHash(Path src, Path target) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
         }
-        Files.writeString(artifactList, sb.toString());
+        FileCopier.copy(src, target, digest);
+        return HashUtils.bytesToHexString(digest.digest());
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.galleon.MessageWriter;
+
+/**
+ * Statistics of the artifact resolutions and copies of a provisioning, used to tell whether the time is spent
+ * resolving artifacts (network), copying them (disk) or elsewhere.
+ */
+class ArtifactResolutionStats {
+
+    private final long startTime = System.nanoTime();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder recordedHits = new LongAdder();
+    private final LongAdder bulkHits = new LongAdder();
+    private final LongAdder channelResolutions = new LongAdder();
+    private final LongAdder bytesCopied = new LongAdder();
+    private final LongAdder filesCopied = new LongAdder();
+    private final ConcurrentLinkedQueue<Long> resolutionTimes = new ConcurrentLinkedQueue<>();
+    private final LongAdder bulkResolutions = new LongAdder();
+    private final LongAdder bulkTime = new LongAdder();
+
+    void memoHit() {
+        memoHits.increment();
+    }
+
+    void recordedHit() {
+        recordedHits.increment();
+    }
+
+    void bulkHit() {
+        bulkHits.increment();
+    }
+
+    /**
+     * An artifact has been resolved by the Maven resolver.
+     *
+     * @param nanos the time the resolution took
+     * @param channel whether the version of the artifact has been resolved from a channel
+     */
+    void resolved(long nanos, boolean channel) {
+        resolutionTimes.add(nanos);
+        if (channel) {
+            channelResolutions.increment();
+        }
+    }
+
+    void bulkResolved(int count, long nanos) {
+        bulkResolutions.add(count);
+        bulkTime.add(nanos);
+    }
+
+    void copied(long bytes) {
+        filesCopied.increment();
+        bytesCopied.add(bytes);
+    }
+
+    void report(MessageWriter log, boolean print) {
+        final String[] lines = {
+            String.format("Artifact resolution: %d resolved (%d from channels) at %.1f/s, p50 %.1fms, p99 %.1fms",
+                    getResolutions(), channelResolutions.sum(), getResolutionsPerSecond(),
+                    toMillis(getResolutionTimePercentile(50)), toMillis(getResolutionTimePercentile(99))),
+            String.format("Artifact bulk resolution: %d resolved in %.1fms", getBulkResolutions(), toMillis(getBulkTime())),
+            String.format("Artifact resolution cache: %d hits (%d memoized, %d recorded, %d bulk), %d misses",
+                    memoHits.sum() + recordedHits.sum() + bulkHits.sum(), memoHits.sum(), recordedHits.sum(), bulkHits.sum(),
+                    getResolutions()),
+            String.format("Artifact copies: %d files, %d bytes", filesCopied.sum(), bytesCopied.sum())
+        };
+        for (String line : lines) {
+            if (print) {
+                log.print(line);
+            } else {
+                log.verbose(line);
+            }
+        }
+    }
+
+    String toJson() {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"elapsedMillis\": ").append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)).append(",\n");
+        json.append("  \"resolved\": ").append(getResolutions()).append(",\n");
+        json.append("  \"channelResolved\": ").append(channelResolutions.sum()).append(",\n");
+        json.append("  \"resolvedPerSecond\": ").append(String.format(Locale.ROOT, "%.3f", getResolutionsPerSecond())).append(",\n");
+        json.append("  \"resolutionMillisP50\": ").append(String.format(Locale.ROOT, "%.3f", toMillis(getResolutionTimePercentile(50)))).append(",\n");
+        json.append("  \"resolutionMillisP99\": ").append(String.format(Locale.ROOT, "%.3f", toMillis(getResolutionTimePercentile(99)))).append(",\n");
+        json.append("  \"bulkResolved\": ").append(getBulkResolutions()).append(",\n");
+        json.append("  \"bulkResolutionMillis\": ").append(String.format(Locale.ROOT, "%.3f", toMillis(getBulkTime()))).append(",\n");
+        json.append("  \"memoizedHits\": ").append(memoHits.sum()).append(",\n");
+        json.append("  \"recordedHits\": ").append(recordedHits.sum()).append(",\n");
+        json.append("  \"bulkHits\": ").append(bulkHits.sum()).append(",\n");
+        json.append("  \"filesCopied\": ").append(filesCopied.sum()).append(",\n");
+        json.append("  \"bytesCopied\": ").append(bytesCopied.sum()).append('\n');
+        json.append("}\n");
+        return json.toString();
+    }
+
+    int getResolutions() {
+        return resolutionTimes.size();
+    }
+
+    long getBulkResolutions() {
+        return bulkResolutions.sum();
+    }
+
+    long getBulkTime() {
+        return bulkTime.sum();
+    }
+
+    /**
+     * The artifacts resolved, individually or in bulk, per second of resolution.
+     */
+    double getResolutionsPerSecond() {
+        long time = getBulkTime();
+        int resolutions = 0;
+        for (long nanos : resolutionTimes) {
+            time += nanos;
+            ++resolutions;
+        }
+        return time == 0 ? 0 : (resolutions + getBulkResolutions()) * 1e9 / time;
+    }
+
+    /**
+     * The time, in nanoseconds, under which the given percentage of the individual resolutions completed.
+     */
+    long getResolutionTimePercentile(int percentile) {
+        final long[] sorted = resolutionTimes.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
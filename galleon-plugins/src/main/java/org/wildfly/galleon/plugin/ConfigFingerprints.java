@@ -0,0 +1,249 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.galleon.Constants;
+import org.jboss.galleon.util.HashUtils;
+
+/**
+ * The canonical fingerprints of the standalone and domain configs of an installation, keyed by the path of
+ * the configs relative to the installation.
+ * <p>
+ * A canonical fingerprint ignores comments, whitespace around and between the elements, the order of the attributes
+ * and the namespace prefixes, so that a config the server has only reformatted has the same fingerprint as the
+ * provisioned one.
+ */
+public class ConfigFingerprints {
+
+    static final String FINGERPRINTS_FILE = "wildfly-configs.txt";
+    private static final String SEPARATOR = "::";
+    private static final String DOT_XML = ".xml";
+
+    private static XMLInputFactory xmlInputFactory;
+
+    private static XMLInputFactory getXmlInputFactory() {
+        if (xmlInputFactory == null) {
+            final XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            xmlInputFactory = factory;
+        }
+        return xmlInputFactory;
+    }
+
+    private final Map<String, String> fingerprints = new TreeMap<>();
+
+    private ConfigFingerprints() {
+    }
+
+    /**
+     * Records the fingerprints of the configs of an installation. The configs that can't be parsed
+     * are not recorded.
+     *
+     * @param installation the installation directory
+     * @return the fingerprints
+     * @throws IOException if a config can't be read
+     */
+    static ConfigFingerprints record(Path installation) throws IOException {
+        final ConfigFingerprints recorded = new ConfigFingerprints();
+        recorded.recordConfigs(installation, WfConstants.STANDALONE);
+        recorded.recordConfigs(installation, WfConstants.DOMAIN);
+        return recorded;
+    }
+
+    private void recordConfigs(Path installation, String model) throws IOException {
+        final Path configDir = installation.resolve(model).resolve(WfConstants.CONFIGURATION);
+        if (!Files.isDirectory(configDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(configDir, "*" + DOT_XML)) {
+            for (Path xml : stream) {
+                if (!Files.isRegularFile(xml)) {
+                    continue;
+                }
+                try {
+                    fingerprints.put(model + '/' + WfConstants.CONFIGURATION + '/' + xml.getFileName(), fingerprint(xml));
+                } catch (XMLStreamException e) {
+                    // a config without a fingerprint never matches, it is read again
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the fingerprints stored in an installation.
+     *
+     * @param installation the installation directory
+     * @return the fingerprints or null if the installation has no fingerprints
+     * @throws IOException
+     */
+    public static ConfigFingerprints load(Path installation) throws IOException {
+        final Path file = getFile(installation);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final ConfigFingerprints loaded = new ConfigFingerprints();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                final int i = line.indexOf(SEPARATOR);
+                if (i > 0) {
+                    loaded.fingerprints.put(line.substring(0, i), line.substring(i + SEPARATOR.length()));
+                }
+                line = reader.readLine();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Computes the canonical fingerprint of a config.
+     *
+     * @param xml the config file
+     * @return the fingerprint
+     * @throws IOException if the file can't be read
+     * @throws XMLStreamException if the file can't be parsed
+     */
+    static String fingerprint(Path xml) throws IOException, XMLStreamException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (InputStream in = Files.newInputStream(xml)) {
+            final XMLStreamReader reader = getXmlInputFactory().createXMLStreamReader(in);
+            try {
+                // the text of an element may be split by comments
+                final StringBuilder text = new StringBuilder();
+                final Map<String, String> attributes = new TreeMap<>();
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            updateText(digest, text);
+                            update(digest, "<");
+                            update(digest, String.valueOf(reader.getNamespaceURI()));
+                            update(digest, reader.getLocalName());
+                            for (int i = 0; i < reader.getAttributeCount(); ++i) {
+                                final String ns = reader.getAttributeNamespace(i);
+                                attributes.put(ns == null || ns.isEmpty() ? reader.getAttributeLocalName(i)
+                                        : '{' + ns + '}' + reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                            }
+                            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                                update(digest, attribute.getKey());
+                                update(digest, attribute.getValue());
+                            }
+                            attributes.clear();
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            updateText(digest, text);
+                            update(digest, ">");
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                            text.append(reader.getText());
+                            break;
+                        default:
+                            // comments, processing instructions and ignorable whitespace
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return HashUtils.bytesToHexString(digest.digest());
+    }
+
+    private static void updateText(MessageDigest digest, StringBuilder text) {
+        if (text.length() == 0) {
+            return;
+        }
+        final String normalized = text.toString().trim().replaceAll("\\s+", " ");
+        text.setLength(0);
+        if (!normalized.isEmpty()) {
+            update(digest, "#");
+            update(digest, normalized);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Whether a config is canonically the same as the config the fingerprint of which was recorded
+     * for the relative path.
+     *
+     * @param relativePath the path of the config relative to the installation
+     * @param xml the config file
+     * @return true if the recorded fingerprint matches the fingerprint of the config
+     * @throws IOException if the config can't be read
+     */
+    public boolean matches(String relativePath, Path xml) throws IOException {
+        final String recorded = fingerprints.get(relativePath);
+        if (recorded == null) {
+            return false;
+        }
+        try {
+            return recorded.equals(fingerprint(xml));
+        } catch (XMLStreamException e) {
+            // a config that can't be parsed is reported by the embedded read
+            return false;
+        }
+    }
+
+    boolean isEmpty() {
+        return fingerprints.isEmpty();
+    }
+
+    void store(Path installation) throws IOException {
+        final Path file = getFile(installation);
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(SEPARATOR);
+                writer.write(entry.getValue());
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static Path getFile(Path installation) {
+        return installation.resolve(Constants.PROVISIONED_STATE_DIR).resolve(FINGERPRINTS_FILE);
+    }
+}
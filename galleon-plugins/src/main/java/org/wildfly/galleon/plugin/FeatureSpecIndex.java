@@ -0,0 +1,226 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.galleon.Constants;
+import org.jboss.galleon.ProvisioningDescriptionException;
+import org.jboss.galleon.ProvisioningException;
+import org.jboss.galleon.spec.FeatureParameterSpec;
+import org.jboss.galleon.spec.FeatureSpec;
+import org.jboss.galleon.xml.FeatureSpecXmlParser;
+
+/**
+ * A binary index of the feature specs of a feature-pack, mapping the spec names to the ID parameters of the specs,
+ * which is what the feature spec generator needs from the specs inherited from the feature-pack dependencies.
+ * <p>
+ * The index is built once by parsing the spec.xml files of the feature-pack. When loaded, only the spec names are read,
+ * the ID parameters of a spec are decoded the first time they are requested and then kept in a concurrent cache.
+ */
+public class FeatureSpecIndex {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final byte[] content;
+    private final Map<String, Integer> offsets;
+    private final Map<String, List<FeatureParameterSpec>> idParams = new ConcurrentHashMap<>();
+
+    private FeatureSpecIndex(byte[] content, Map<String, Integer> offsets) {
+        this.content = content;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds the index of the spec.xml files of a feature-pack features directory. The index is written to
+     * a temporary file first and then moved to the target, so that an index being written is never loaded.
+     *
+     * @param featuresDir the features directory of the feature-pack
+     * @param indexFile the index file
+     * @throws ProvisioningException if a spec can't be parsed or the index can't be written
+     */
+    public static void build(Path featuresDir, Path indexFile) throws ProvisioningException {
+        final Map<String, FeatureSpec> specs = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(featuresDir)) {
+            for (Path dir : stream) {
+                final Path specXml = dir.resolve(Constants.SPEC_XML);
+                if (!Files.exists(specXml)) {
+                    continue;
+                }
+                String specName = dir.getFileName().toString();
+                if (specName.charAt(specName.length() - 1) == '/') {
+                    specName = specName.substring(0, specName.length() - 1);
+                }
+                try (BufferedReader reader = Files.newBufferedReader(specXml)) {
+                    specs.put(specName, FeatureSpecXmlParser.getInstance().parse(reader));
+                } catch (XMLStreamException e) {
+                    throw new ProvisioningException("Failed to parse " + specName + " spec " + specXml, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to read the feature specs of " + featuresDir, e);
+        }
+        try {
+            Files.createDirectories(indexFile.getParent());
+            // the same index may be built concurrently by several builds
+            final Path tmp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                    write(specs, out);
+                }
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to write feature spec index " + indexFile, e);
+        }
+    }
+
+    private static void write(Map<String, FeatureSpec> specs, OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(specs.size());
+        final ByteArrayOutputStream specBytes = new ByteArrayOutputStream();
+        final DataOutputStream specData = new DataOutputStream(specBytes);
+        for (Map.Entry<String, FeatureSpec> spec : specs.entrySet()) {
+            specBytes.reset();
+            final List<FeatureParameterSpec> params = spec.getValue().getIdParams();
+            specData.writeInt(params.size());
+            for (FeatureParameterSpec param : params) {
+                specData.writeUTF(param.getName());
+                writeOptional(specData, param.getDefaultValue());
+                writeOptional(specData, param.getType());
+                writeOptional(specData, param.getStability() == null ? null : param.getStability().toString());
+            }
+            specData.flush();
+            data.writeUTF(spec.getKey());
+            data.writeInt(specBytes.size());
+            specBytes.writeTo(data);
+        }
+        data.flush();
+    }
+
+    private static void writeOptional(DataOutputStream data, String value) throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) {
+            data.writeUTF(value);
+        }
+    }
+
+    /**
+     * Loads an index.
+     *
+     * @param indexFile the index file
+     * @return the index or null if the file doesn't exist or was written in another format
+     * @throws IOException if the index can't be read
+     */
+    public static FeatureSpecIndex load(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        final byte[] content = Files.readAllBytes(indexFile);
+        final DataInputStream data = new DataInputStream(new ByteArrayInputStream(content));
+        if (data.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        final int specsTotal = data.readInt();
+        final Map<String, Integer> offsets = new HashMap<>(specsTotal * 4 / 3 + 1);
+        for (int i = 0; i < specsTotal; ++i) {
+            final String name = data.readUTF();
+            final int length = data.readInt();
+            offsets.put(name, content.length - data.available());
+            data.skipNBytes(length);
+        }
+        return new FeatureSpecIndex(content, offsets);
+    }
+
+    /**
+     * The names of the indexed specs.
+     */
+    public Set<String> getSpecNames() {
+        return Collections.unmodifiableSet(offsets.keySet());
+    }
+
+    /**
+     * Returns the ID parameters of a spec.
+     *
+     * @param specName the spec name
+     * @return the ID parameters or null if the spec is not indexed
+     * @throws ProvisioningException if the parameters can't be decoded
+     */
+    public List<FeatureParameterSpec> getIdParams(String specName) throws ProvisioningException {
+        List<FeatureParameterSpec> params = idParams.get(specName);
+        if (params != null) {
+            return params;
+        }
+        final Integer offset = offsets.get(specName);
+        if (offset == null) {
+            return null;
+        }
+        try {
+            params = readIdParams(offset);
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to read the ID parameters of " + specName + " from the feature spec index", e);
+        }
+        final List<FeatureParameterSpec> previous = idParams.putIfAbsent(specName, params);
+        return previous == null ? params : previous;
+    }
+
+    private List<FeatureParameterSpec> readIdParams(int offset) throws IOException, ProvisioningDescriptionException {
+        final DataInputStream data = new DataInputStream(new ByteArrayInputStream(content, offset, content.length - offset));
+        final int paramsTotal = data.readInt();
+        final List<FeatureParameterSpec> params = new ArrayList<>(paramsTotal);
+        for (int i = 0; i < paramsTotal; ++i) {
+            // ID parameters are never nillable
+            final FeatureParameterSpec.Builder builder = FeatureParameterSpec.builder(data.readUTF()).setFeatureId();
+            builder.setDefaultValue(readOptional(data));
+            builder.setType(readOptional(data));
+            final String stability = readOptional(data);
+            if (stability != null) {
+                builder.setStability(stability);
+            }
+            params.add(builder.build());
+        }
+        return Collections.unmodifiableList(params);
+    }
+
+    private static String readOptional(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+}
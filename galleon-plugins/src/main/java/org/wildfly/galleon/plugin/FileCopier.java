@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.jboss.galleon.util.HashUtils;
+
+/**
+ * Copies artifact files. Files larger than {@value #TRANSFER_THRESHOLD} bytes are copied with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, which lets the operating
+ * system copy the content without moving it through the JVM heap. Smaller files are copied with
+ * {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}.
+ * <p>
+ * As with {@link StandardCopyOption#REPLACE_EXISTING}, an existing target is deleted and not overwritten,
+ * so that a target hard-linked to another file leaves the other file untouched, and a target that is the same file
+ * as the source is left as it is.
+ */
+public final class FileCopier {
+
+    static final int TRANSFER_THRESHOLD = 64 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FileCopier() {
+    }
+
+    /**
+     * Copies a file, replacing the target if it exists.
+     *
+     * @param src the file to copy
+     * @param target the copy
+     * @return the number of bytes copied
+     * @throws IOException if the file can't be copied
+     */
+    public static long copy(Path src, Path target) throws IOException {
+        final long size = Files.size(src);
+        if (isSameFile(src, target)) {
+            return size;
+        }
+        if (size < TRANSFER_THRESHOLD) {
+            Files.copy(src, target, StandardCopyOption.REPLACE_EXISTING);
+            return size;
+        }
+        Files.deleteIfExists(target);
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            final long length = in.size();
+            long position = 0;
+            while (position < length) {
+                final long transferred = in.transferTo(position, length - position, out);
+                if (transferred <= 0) {
+                    // the source has been truncated while being copied
+                    break;
+                }
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Copies a file, replacing the target if it exists, and updates the digest with the copied content.
+     * The content being read to be digested, it is copied through a buffer.
+     *
+     * @param src the file to copy
+     * @param target the copy
+     * @param digest the digest to update
+     * @return the number of bytes copied
+     * @throws IOException if the file can't be copied
+     */
+    public static long copy(Path src, Path target, MessageDigest digest) throws IOException {
+        if (isSameFile(src, target)) {
+            return digest(src, digest);
+        }
+        Files.deleteIfExists(target);
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long copied = 0;
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    copied += out.write(buffer);
+                }
+                buffer.clear();
+            }
+            return copied;
+        }
+    }
+
+    /**
+     * Computes the SHA-1 hash of a file, the same as {@link org.jboss.galleon.util.HashUtils#hashFile(Path)}
+     * for a file, with a digest of its own, so that files can be hashed concurrently.
+     *
+     * @param file the file to hash
+     * @return the hash
+     * @throws IOException if the file can't be read
+     */
+    public static String hash(Path file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        digest(file, digest);
+        return HashUtils.bytesToHexString(digest.digest());
+    }
+
+    private static long digest(Path file, MessageDigest digest) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long read = 0;
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                read += buffer.remaining();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return read;
+        }
+    }
+
+    private static boolean isSameFile(Path src, Path target) throws IOException {
+        return Files.exists(target) && Files.isSameFile(src, target);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.jboss.galleon.Constants;
+import org.jboss.galleon.universe.FeaturePackLocation.FPID;
+import org.jboss.galleon.util.HashUtils;
+
+/**
+ * The fingerprints of the packages that provided the JBoss modules of an installation, keyed by
+ * the path of the module.xml files. The fingerprint of a package covers the feature-pack, the package,
+ * the content of its module directory and the artifact versions its module templates reference,
+ * a module produced by a package with the same fingerprint is identical.
+ */
+class ModuleFingerprints {
+
+    static final String FINGERPRINTS_FILE = "wildfly-modules.txt";
+    private static final String SEPARATOR = "::";
+    private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}?]+)");
+
+    private final Map<String, String> fingerprints = new TreeMap<>();
+    private final FileTime time;
+
+    private ModuleFingerprints(FileTime time) {
+        this.time = time;
+    }
+
+    ModuleFingerprints() {
+        this(null);
+    }
+
+    /**
+     * Loads the fingerprints stored in an installation.
+     *
+     * @param installation the installation directory
+     * @return the fingerprints or null if the installation has no fingerprints
+     * @throws IOException
+     */
+    static ModuleFingerprints load(Path installation) throws IOException {
+        final Path file = getFile(installation);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final ModuleFingerprints loaded = new ModuleFingerprints(Files.getLastModifiedTime(file));
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                final int i = line.indexOf(SEPARATOR);
+                if (i > 0) {
+                    loaded.fingerprints.put(line.substring(0, i), line.substring(i + SEPARATOR.length()));
+                }
+                line = reader.readLine();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Computes the fingerprint of a package.
+     *
+     * @param fpid the feature-pack of the package
+     * @param pkgName the package name
+     * @param moduleDir the module directory of the package
+     * @param versionProps the artifact versions of the feature-pack
+     * @return the fingerprint
+     * @throws IOException
+     */
+    static String fingerprint(FPID fpid, String pkgName, Path moduleDir, Map<String, String> versionProps) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        update(digest, String.valueOf(ModuleFingerprints.class.getPackage().getImplementationVersion()));
+        update(digest, fpid.toString());
+        update(digest, pkgName);
+        digest.update(HashUtils.hashPath(moduleDir));
+        final TreeSet<String> expressions = new TreeSet<>();
+        try (Stream<Path> files = Files.walk(moduleDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().equals(WfConstants.MODULE_XML)) {
+                    final Matcher matcher = EXPRESSION.matcher(Files.readString(file));
+                    while (matcher.find()) {
+                        expressions.add(matcher.group(1));
+                    }
+                }
+            }
+        }
+        for (String expression : expressions) {
+            update(digest, expression);
+            update(digest, String.valueOf(versionProps == null ? null : versionProps.get(expression)));
+        }
+        return HashUtils.bytesToHexString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    String get(Path moduleXml) {
+        return fingerprints.get(toKey(moduleXml));
+    }
+
+    void put(Path moduleXml, String fingerprint) {
+        fingerprints.put(toKey(moduleXml), fingerprint);
+    }
+
+    /**
+     * Whether the file has been modified after the fingerprints have been stored.
+     */
+    boolean isModified(Path file) throws IOException {
+        return time == null || Files.getLastModifiedTime(file).compareTo(time) > 0;
+    }
+
+    void store(Path installation) throws IOException {
+        final Path file = getFile(installation);
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(SEPARATOR);
+                writer.write(entry.getValue());
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static Path getFile(Path installation) {
+        return installation.resolve(Constants.PROVISIONED_STATE_DIR).resolve(FINGERPRINTS_FILE);
+    }
+
+    private static String toKey(Path moduleXml) {
+        return moduleXml.toString().replace(File.separatorChar, '/');
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.jboss.galleon.util.CollectionUtils;
+
+/**
+ * The paths, relative to the installation directory, a package task reads and writes.
+ * A path covers its whole sub-tree.
+ */
+public class PackageTaskFootprint {
+
+    public static class Builder {
+
+        private Set<String> reads = Collections.emptySet();
+        private Set<String> writes = Collections.emptySet();
+
+        private Builder() {
+        }
+
+        public Builder addRead(String path) {
+            reads = CollectionUtils.add(reads, path);
+            return this;
+        }
+
+        public Builder addWrite(String path) {
+            writes = CollectionUtils.add(writes, path);
+            return this;
+        }
+
+        public PackageTaskFootprint build() {
+            return new PackageTaskFootprint(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final Set<String> reads;
+    private final Set<String> writes;
+
+    private PackageTaskFootprint(Builder builder) {
+        this.reads = CollectionUtils.unmodifiable(builder.reads);
+        this.writes = CollectionUtils.unmodifiable(builder.writes);
+    }
+
+    public Set<String> getReads() {
+        return reads;
+    }
+
+    public Set<String> getWrites() {
+        return writes;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.galleon.ProvisioningException;
+import org.jboss.galleon.runtime.PackageRuntime;
+
+/**
+ * Executes package tasks concurrently. A task starts once all the previously scheduled tasks
+ * its footprint overlaps with have completed, so the original order is preserved for tasks
+ * that read or write the same paths. A task with an unknown footprint is executed by the calling
+ * thread once all the previously scheduled tasks have completed.
+ */
+class PackageTaskScheduler {
+
+    private static class ScheduledTask {
+
+        private final Set<Path> reads;
+        private final Set<Path> writes;
+        private CompletableFuture<Void> future;
+
+        ScheduledTask(Set<Path> reads, Set<Path> writes) {
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        boolean conflictsWith(ScheduledTask other) {
+            return overlap(writes, other.writes) || overlap(writes, other.reads) || overlap(reads, other.writes);
+        }
+
+        private static boolean overlap(Set<Path> paths, Set<Path> otherPaths) {
+            for (Path path : paths) {
+                for (Path otherPath : otherPaths) {
+                    if (path.startsWith(otherPath) || otherPath.startsWith(path)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private final WfInstallPlugin plugin;
+    private final Path stagedDir;
+    private final ExecutorService executor;
+    private final List<ScheduledTask> scheduled = new ArrayList<>();
+
+    PackageTaskScheduler(WfInstallPlugin plugin, Path stagedDir) {
+        this.plugin = plugin;
+        this.stagedDir = stagedDir;
+        this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    void schedule(WildFlyPackageTask task, PackageRuntime pkg) throws ProvisioningException {
+        final PackageTaskFootprint footprint = task.getFootprint(plugin, pkg);
+        if (footprint == null) {
+            awaitAll();
+            task.execute(plugin, pkg);
+            return;
+        }
+        final ScheduledTask scheduledTask = toScheduledTask(footprint);
+        final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        final Iterator<ScheduledTask> i = scheduled.iterator();
+        while (i.hasNext()) {
+            final ScheduledTask previous = i.next();
+            if (previous.future.isDone() && !previous.future.isCompletedExceptionally()) {
+                i.remove();
+            } else if (scheduledTask.conflictsWith(previous)) {
+                dependencies.add(previous.future);
+            }
+        }
+        final CompletableFuture<Void> ready = dependencies.isEmpty() ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]));
+        scheduledTask.future = ready.thenRunAsync(() -> {
+            try {
+                task.execute(plugin, pkg);
+            } catch (ProvisioningException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        scheduled.add(scheduledTask);
+    }
+
+    /**
+     * Waits for the completion of the scheduled tasks that overlap with the footprint.
+     * Used before the calling thread modifies the installation directory.
+     */
+    void await(PackageTaskFootprint footprint) throws ProvisioningException {
+        final ScheduledTask work = toScheduledTask(footprint);
+        final Iterator<ScheduledTask> i = scheduled.iterator();
+        while (i.hasNext()) {
+            final ScheduledTask previous = i.next();
+            if (work.conflictsWith(previous)) {
+                join(previous);
+                i.remove();
+            }
+        }
+    }
+
+    void awaitAll() throws ProvisioningException {
+        try {
+            for (ScheduledTask previous : scheduled) {
+                join(previous);
+            }
+        } finally {
+            scheduled.clear();
+        }
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Whether two footprints read and write paths that overlap, in which case the order
+     * in which the tasks are executed matters.
+     */
+    static boolean conflict(Path stagedDir, PackageTaskFootprint footprint, PackageTaskFootprint other) {
+        return toScheduledTask(stagedDir, footprint).conflictsWith(toScheduledTask(stagedDir, other));
+    }
+
+    private ScheduledTask toScheduledTask(PackageTaskFootprint footprint) {
+        return toScheduledTask(stagedDir, footprint);
+    }
+
+    private static ScheduledTask toScheduledTask(Path stagedDir, PackageTaskFootprint footprint) {
+        return new ScheduledTask(resolve(stagedDir, footprint.getReads()), resolve(stagedDir, footprint.getWrites()));
+    }
+
+    private static Set<Path> resolve(Path stagedDir, Set<String> paths) {
+        final Set<Path> resolved = new HashSet<>(paths.size());
+        for (String path : paths) {
+            resolved.add(stagedDir.resolve(path).normalize());
+        }
+        return resolved;
+    }
+
+    private static void join(ScheduledTask task) throws ProvisioningException {
+        try {
+            task.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof ProvisioningException) {
+                throw (ProvisioningException) cause;
+            }
+            throw new ProvisioningException("Failed to execute package task", cause);
+        }
+    }
+}
@@ -39,6 +39,8 @@ public class PropertyReplacer {
     private static final int RESOLVED = 3;
     private static final int DEFAULT = 4;
 
+    private static final int BUFFER_SIZE = 8192;
+
     public static void copy(final Path src, final Path target, PropertyResolver resolver, String failureReplacement) throws IOException {
         if(!Files.exists(target.getParent())) {
             Files.createDirectories(target.getParent());
@@ -51,87 +53,103 @@ public class PropertyReplacer {
 
     public static void copy(final Reader reader, Writer writer, PropertyResolver properties,
             String failureReplacement) throws IOException {
-        int state = INITIAL;
+        // The content is read in blocks. Literal runs are located with a scan for the next '$'
+        // and written as a whole, only the expressions go through the state machine.
+        final char[] chars = new char[BUFFER_SIZE];
         final StringBuilder buf = new StringBuilder();
-        int ch = reader.read();
-        while (ch >= 0) {
-            switch (state) {
-                case INITIAL: {
-                    switch (ch) {
-                        case '$': {
-                            state = GOT_DOLLAR;
-                            break;
+        int state = INITIAL;
+        int length = reader.read(chars);
+        while (length >= 0) {
+            int i = 0;
+            while (i < length) {
+                switch (state) {
+                    case INITIAL: {
+                        final int end = indexOf(chars, i, length, '$', '$');
+                        if (end > i) {
+                            writer.write(chars, i, end - i);
                         }
-                        default: {
-                            writer.write(ch);
+                        if (end < length) {
+                            state = GOT_DOLLAR;
+                            i = end + 1;
+                        } else {
+                            i = length;
                         }
+                        break;
                     }
-                    break;
-                }
-                case GOT_DOLLAR: {
-                    switch (ch) {
-                        case '$': {
-                            // escaped $
-                            buf.setLength(0);
-                            writer.write(ch);
-                            state = INITIAL;
-                            break;
+                    case GOT_DOLLAR: {
+                        final char ch = chars[i++];
+                        switch (ch) {
+                            case '$': {
+                                // escaped $
+                                buf.setLength(0);
+                                writer.write(ch);
+                                state = INITIAL;
+                                break;
+                            }
+                            case '{': {
+                                state = GOT_OPEN_BRACE;
+                                break;
+                            }
+                            default: {
+                                // invalid; emit and resume
+                                writer.append('$');
+                                writer.write(ch);
+                                buf.setLength(0);
+                                state = INITIAL;
+                            }
                         }
-                        case '{': {
-                            state = GOT_OPEN_BRACE;
+                        break;
+                    }
+                    case GOT_OPEN_BRACE: {
+                        final int end = indexOf(chars, i, length, '}', ',');
+                        buf.append(chars, i, end - i);
+                        if (end == length) {
+                            i = length;
                             break;
                         }
-                        default: {
-                            // invalid; emit and resume
-                            writer.append('$');
-                            writer.write(ch);
-                            buf.setLength(0);
-                            state = INITIAL;
-                        }
-                    }
-                    break;
-                }
-                case GOT_OPEN_BRACE: {
-                    switch (ch) {
-                        case '}':
-                        case ',': {
-                            final String name = buf.toString();
-                            if ("/".equals(name)) {
-                                writer.append(File.separatorChar);
+                        final char ch = chars[end];
+                        i = end + 1;
+                        final String name = buf.toString();
+                        if ("/".equals(name)) {
+                            writer.append(File.separatorChar);
+                            state = ch == '}' ? INITIAL : RESOLVED;
+                        } else {
+                            final String val = properties.resolveProperty(name);
+                            if (val != null) {
+                                writer.write(val);
                                 state = ch == '}' ? INITIAL : RESOLVED;
+                            } else if (ch == ',') {
+                                state = DEFAULT;
                             } else {
-                                final String val = properties.resolveProperty(name);
-                                if (val != null) {
-                                    writer.write(val);
-                                    state = ch == '}' ? INITIAL : RESOLVED;
-                                } else if (ch == ',') {
-                                    state = DEFAULT;
+                                if (failureReplacement != null) {
+                                    writer.write(failureReplacement);
+                                    state = INITIAL;
                                 } else {
-                                    if(failureReplacement != null) {
-                                        writer.write(failureReplacement);
-                                        state = ch == '}' ? INITIAL : RESOLVED;
-                                    } else {
-                                        throw new IllegalStateException("Failed to resolve property: " + buf);
-                                    }
+                                    throw new IllegalStateException("Failed to resolve property: " + buf);
                                 }
                             }
-                            buf.setLength(0);
-                            break;
-                        }
-                        default: {
-                            buf.appendCodePoint(ch);
                         }
+                        buf.setLength(0);
+                        break;
                     }
-                    break;
-                }
-                case RESOLVED: {
-                    if (ch == '}') {
-                        state = INITIAL;
+                    case RESOLVED: {
+                        final int end = indexOf(chars, i, length, '}', '}');
+                        if (end < length) {
+                            state = INITIAL;
+                            i = end + 1;
+                        } else {
+                            i = length;
+                        }
+                        break;
                     }
-                    break;
-                }
-                case DEFAULT: {
-                    if (ch == '}') {
+                    case DEFAULT: {
+                        final int end = indexOf(chars, i, length, '}', '}');
+                        buf.append(chars, i, end - i);
+                        if (end == length) {
+                            i = length;
+                            break;
+                        }
+                        i = end + 1;
                         state = INITIAL;
                         final String val = properties.resolveProperty(buf.toString());
                         if (val != null) {
@@ -139,15 +157,14 @@ public class PropertyReplacer {
                         } else {
                             writer.write(buf.toString());
                         }
-                    } else {
-                        buf.appendCodePoint(ch);
+                        buf.setLength(0);
+                        break;
                     }
-                    break;
+                    default:
+                        throw new IllegalStateException("Unexpected state: " + state);
                 }
-                default:
-                    throw new IllegalStateException("Unexpected char seen: " + ch);
             }
-            ch = reader.read();
+            length = reader.read(chars);
         }
         switch (state) {
             case GOT_DOLLAR: {
@@ -163,4 +180,18 @@ public class PropertyReplacer {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the index of the first occurrence of either {@code c1} or {@code c2} in the
+     * {@code [from, to)} range of the array or {@code to} if none was found.
+     */
+    private static int indexOf(char[] chars, int from, int to, char c1, char c2) {
+        for (int i = from; i < to; ++i) {
+            final char c = chars[i];
+            if (c == c1 || c == c2) {
+                return i;
+            }
+        }
+        return to;
+    }
+}
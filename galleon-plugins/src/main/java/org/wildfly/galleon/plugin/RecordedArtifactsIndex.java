@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.galleon.universe.maven.MavenArtifact;
+
+/**
+ * Index of the artifacts recorded by the {@link ArtifactRecorder} of a previous provisioning.
+ * A recorded artifact is used in place of a Maven resolution when its file still exists and has not changed,
+ * either checked with its hash or, in fast mode, with the time the file was last modified.
+ */
+class RecordedArtifactsIndex {
+
+    private static final String SEPARATOR = "::";
+
+    private static class RecordedArtifact {
+        private final String hash;
+        private final Path path;
+
+        RecordedArtifact(String hash, Path path) {
+            this.hash = hash;
+            this.path = path;
+        }
+    }
+
+    private final Map<String, RecordedArtifact> recordedArtifacts;
+    private final FileTime manifestTime;
+    private final boolean fast;
+    private final Map<String, Path> checkedArtifacts = new ConcurrentHashMap<>();
+
+    private RecordedArtifactsIndex(Map<String, RecordedArtifact> recordedArtifacts, FileTime manifestTime, boolean fast) {
+        this.recordedArtifacts = recordedArtifacts;
+        this.manifestTime = manifestTime;
+        this.fast = fast;
+    }
+
+    /**
+     * Loads the artifacts list of an installation.
+     *
+     * @param installation the installation directory, the recorded paths are relative to it
+     * @param artifactList the artifacts list written by the {@link ArtifactRecorder}
+     * @param fast whether the recorded files are checked with their last modified time instead of their hash
+     * @return the index or null if the installation has no artifacts list
+     * @throws IOException
+     */
+    static RecordedArtifactsIndex load(Path installation, Path artifactList, boolean fast) throws IOException {
+        if (!Files.exists(artifactList)) {
+            return null;
+        }
+        final Map<String, RecordedArtifact> recordedArtifacts = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(artifactList)) {
+            String line = reader.readLine();
+            while (line != null) {
+                final int hashStart = line.indexOf(SEPARATOR);
+                final int pathStart = hashStart < 0 ? -1 : line.indexOf(SEPARATOR, hashStart + SEPARATOR.length());
+                if (pathStart > 0) {
+                    recordedArtifacts.put(line.substring(0, hashStart),
+                            new RecordedArtifact(line.substring(hashStart + SEPARATOR.length(), pathStart),
+                                    installation.resolve(line.substring(pathStart + SEPARATOR.length())).normalize()));
+                }
+                line = reader.readLine();
+            }
+        }
+        return new RecordedArtifactsIndex(recordedArtifacts, Files.getLastModifiedTime(artifactList), fast);
+    }
+
+    /**
+     * Returns the recorded file of the artifact, if it is recorded and the file has not changed.
+     * The artifact must have a version. The method can be called concurrently.
+     */
+    Path find(MavenArtifact artifact) throws IOException {
+        final String coords = artifact.getCoordsAsString();
+        final Path checked = checkedArtifacts.get(coords);
+        if (checked != null) {
+            return checked;
+        }
+        final RecordedArtifact recorded = recordedArtifacts.get(coords);
+        if (recorded == null || !Files.isRegularFile(recorded.path)) {
+            return null;
+        }
+        if (fast) {
+            if (Files.getLastModifiedTime(recorded.path).compareTo(manifestTime) > 0) {
+                return null;
+            }
+        } else if (!recorded.hash.equals(FileCopier.hash(recorded.path))) {
+            return null;
+        }
+        checkedArtifacts.put(coords, recorded.path);
+        return recorded.path;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.galleon.universe.maven.MavenArtifact;
+
+/**
+ * The versions of the artifacts installed by a provisioning, whether they have been resolved or copied from
+ * the reused modules of a previous installation. They replace the version.&lt;groupId&gt;.&lt;artifactId&gt; properties
+ * of the *-licenses.xml files.
+ */
+class ResolvedVersions {
+
+    static final String NOT_INSTALLED = "Not Installed";
+
+    private final Map<String, String> versions = new ConcurrentHashMap<>();
+    private final PropertyResolver resolver = new MapPropertyResolver(versions);
+
+    /**
+     * Adds the version of an installed artifact, if it has one.
+     */
+    void add(MavenArtifact artifact) {
+        if (artifact.getVersion() != null) {
+            versions.put("version." + artifact.getGroupId() + "." + artifact.getArtifactId(), artifact.getVersion());
+        }
+    }
+
+    /**
+     * Copies the content of a reader replacing the version properties, the properties of the artifacts
+     * that have not been installed are replaced with {@value #NOT_INSTALLED}.
+     */
+    void replace(Reader reader, Writer writer) throws IOException {
+        PropertyReplacer.copy(reader, writer, resolver, NOT_INSTALLED);
+    }
+}
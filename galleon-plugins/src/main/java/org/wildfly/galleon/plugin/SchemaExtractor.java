@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.galleon.ProvisioningException;
+
+/**
+ * Copies the {@code schema/} entries of artifacts to the schemas directory of the installation.
+ * The archives are read with a {@link ZipFile}, only the entries located in the {@code schema/}
+ * directory of its central directory are extracted.
+ * <p>
+ * The extractions submitted with {@link #submit(Path)} are executed in their order by a background
+ * thread and must be joined with {@link #awaitCompletion()} before the schemas are used.
+ */
+class SchemaExtractor {
+
+    private static final String SCHEMA_PREFIX = WfConstants.SCHEMA + '/';
+
+    private final Path targetDir;
+    private final ExecutorService executor;
+    private final List<CompletableFuture<Void>> extractions = new ArrayList<>();
+
+    SchemaExtractor(Path targetDir) {
+        this.targetDir = targetDir;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "wildfly-schema-extractor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void submit(Path artifact) {
+        extractions.add(CompletableFuture.runAsync(() -> {
+            try {
+                extract(artifact, targetDir);
+            } catch (IOException e) {
+                throw new CompletionException(new ProvisioningException("Failed to extract schemas from " + artifact, e));
+            }
+        }, executor));
+    }
+
+    void awaitCompletion() throws ProvisioningException {
+        try {
+            for (CompletableFuture<Void> extraction : extractions) {
+                extraction.join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ProvisioningException) {
+                throw (ProvisioningException) e.getCause();
+            }
+            throw new ProvisioningException("Failed to extract schemas", e.getCause());
+        } finally {
+            extractions.clear();
+        }
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    static void extract(Path artifact, Path targetDir) throws IOException {
+        targetDir = targetDir.normalize();
+        Files.createDirectories(targetDir);
+        try (ZipFile zip = new ZipFile(artifact.toFile())) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final String name = entry.getName();
+                if (!name.startsWith(SCHEMA_PREFIX) || name.length() == SCHEMA_PREFIX.length()) {
+                    continue;
+                }
+                final Path target = targetDir.resolve(name.substring(SCHEMA_PREFIX.length())).normalize();
+                if (!target.startsWith(targetDir)) {
+                    throw new IOException("Entry " + name + " is outside of the schemas directory");
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+        }
+    }
+}
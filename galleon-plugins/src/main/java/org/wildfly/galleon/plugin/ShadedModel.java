@@ -96,17 +96,27 @@ public class ShadedModel implements Utils.ArtifactResourceConsumer {
         this.recorder = recorder;
     }
 
-    public List<MavenArtifact> getArtifacts() throws ProvisioningException, IOException {
+    /**
+     * The coordinates of the shaded dependencies, not resolved.
+     */
+    public List<MavenArtifact> getUnresolvedArtifacts() throws ProvisioningException {
         List<MavenArtifact> artifacts = new ArrayList<>();
         Element shadedDependencies = rootElement.getFirstChildElement("shaded-dependencies",
                 rootElement.getNamespaceURI());
         Elements dependencies = shadedDependencies.getChildElements();
         for (int i = 0; i < dependencies.size(); i++) {
             Element e = dependencies.get(i);
-            MavenArtifact a = Utils.toArtifactCoords(mergedArtifactVersions, e.getValue(), false, channelArtifactResolution, requireChannel);
+            artifacts.add(Utils.toArtifactCoords(mergedArtifactVersions, e.getValue(), false, channelArtifactResolution, requireChannel));
+        }
+        return artifacts;
+    }
+
+    public List<MavenArtifact> getArtifacts() throws ProvisioningException, IOException {
+        List<MavenArtifact> artifacts = new ArrayList<>();
+        for (MavenArtifact a : getUnresolvedArtifacts()) {
             artifactResolver.resolve(a);
             if (log.isVerboseEnabled()) {
-                log.verbose("Shadel model dependency: " + e.getValue() + " resolved version " + a.getVersion());
+                log.verbose("Shadel model dependency: " + a.getGroupId() + ':' + a.getArtifactId() + " resolved version " + a.getVersion());
             }
             Path transformed = installer.installCopiedArtifact(a);
             a.setPath(transformed);
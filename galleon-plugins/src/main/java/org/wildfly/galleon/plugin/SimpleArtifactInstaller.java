@@ -19,9 +19,9 @@ package org.wildfly.galleon.plugin;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 
+import org.jboss.galleon.MessageWriter;
 import org.jboss.galleon.ProvisioningException;
 import org.jboss.galleon.universe.maven.MavenArtifact;
 import org.jboss.galleon.universe.maven.MavenUniverseException;
@@ -37,8 +37,9 @@ class SimpleArtifactInstaller extends AbstractArtifactInstaller {
 
     private final Optional<ArtifactRecorder> artifactRecorder;
 
-    SimpleArtifactInstaller(ArtifactResolver resolver, Path generatedMavenRepo, Optional<ArtifactRecorder> artifactRecorder) {
-        super(resolver, generatedMavenRepo);
+    SimpleArtifactInstaller(ArtifactResolver resolver, Path generatedMavenRepo, boolean hardLinks, Optional<ArtifactRecorder> artifactRecorder,
+            ArtifactResolutionStats stats, MessageWriter log) {
+        super(resolver, generatedMavenRepo, hardLinks, stats, log);
         this.artifactRecorder = artifactRecorder;
     }
 
@@ -46,9 +47,11 @@ class SimpleArtifactInstaller extends AbstractArtifactInstaller {
     String installArtifactFat(MavenArtifact artifact, Path targetDir) throws IOException,
             MavenUniverseException, ProvisioningException {
         if (artifactRecorder.isPresent()) {
-            artifactRecorder.get().record(artifact, targetDir.resolve(artifact.getArtifactFileName()));
+            artifactRecorder.get().copy(artifact, artifact.getPath(), targetDir.resolve(artifact.getArtifactFileName()));
+            getStats().copied(Files.size(artifact.getPath()));
+        } else {
+            getStats().copied(FileCopier.copy(artifact.getPath(), targetDir.resolve(artifact.getArtifactFileName())));
         }
-        Files.copy(artifact.getPath(), targetDir.resolve(artifact.getArtifactFileName()), StandardCopyOption.REPLACE_EXISTING);
         return artifact.getArtifactFileName();
     }
 
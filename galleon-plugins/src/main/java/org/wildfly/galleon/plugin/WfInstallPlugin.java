@@ -17,6 +17,9 @@
 package org.wildfly.galleon.plugin;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,8 +30,6 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.FileAlreadyExistsException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -50,17 +51,25 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import nu.xom.Elements;
+import org.jboss.galleon.Constants;
 import org.jboss.galleon.Errors;
 import org.jboss.galleon.MessageWriter;
 import org.jboss.galleon.ProvisioningException;
@@ -86,15 +95,16 @@ import org.jboss.galleon.universe.maven.MavenUniverseException;
 import org.jboss.galleon.universe.maven.repo.MavenRepoManager;
 import org.jboss.galleon.util.IoUtils;
 import org.jboss.galleon.util.CollectionUtils;
-import org.jboss.galleon.util.ZipUtils;
 import org.wildfly.galleon.plugin.config.AssembleShadedArtifact;
 import org.wildfly.galleon.plugin.config.CopyArtifact;
 import org.wildfly.galleon.plugin.config.CopyPath;
 import org.wildfly.galleon.plugin.config.DeletePath;
 import org.wildfly.galleon.plugin.config.ExampleFpConfigs;
+import org.wildfly.galleon.plugin.config.FileAppender;
 import org.wildfly.galleon.plugin.config.LineEndingsTask;
 import org.wildfly.galleon.plugin.config.XslTransform;
 import org.wildfly.galleon.plugin.server.ForkedEmbeddedUtil;
+import org.xml.sax.InputSource;
 
 /**
  * WildFly install plugin. Handles all WildFly specifics that occur during provisioning.
@@ -122,6 +132,7 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
     private static final String JBOSS_MODULES_GA = "org.jboss.modules:jboss-modules";
     private static final String WILDFLY_CLI_GA = "org.wildfly.core:wildfly-cli";
     private static final String WILDFLY_LAUNCHER_GA = "org.wildfly.launcher:wildfly-launcher";
+    private static final String ARTIFACT_RESOLUTION_STATS_FILE = "wildfly-artifact-resolution.json";
 
     private static final ProvisioningOption OPTION_MVN_DIST = ProvisioningOption.builder("jboss-maven-dist")
             .setBooleanValueSet()
@@ -147,11 +158,45 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
     private static final ProvisioningOption OPTION_MVN_REPO = ProvisioningOption.builder("jboss-maven-repo")
             .setPersistent(false)
             .build();
+    /**
+     * If set to true, the files of the generated Maven repository are hard-linked to the resolved artifacts
+     * instead of being copied, when the file system allows it.
+     */
+    private static final ProvisioningOption OPTION_MVN_REPO_HARD_LINKS = ProvisioningOption.builder("jboss-maven-repo-hard-links")
+            .setBooleanValueSet()
+            .setPersistent(false)
+            .build();
     private static final ProvisioningOption OPTION_OVERRIDDEN_ARTIFACTS = ProvisioningOption.builder("jboss-overridden-artifacts").setPersistent(true).build();
     private static final ProvisioningOption OPTION_BULK_RESOLVE_ARTIFACTS = ProvisioningOption.builder("jboss-bulk-resolve-artifacts").setBooleanValueSet().build();
+    /**
+     * If set to true, the processing tasks of the packages are executed concurrently when they don't read or write the same paths.
+     */
+    private static final ProvisioningOption OPTION_PARALLEL_PACKAGE_TASKS = ProvisioningOption.builder("jboss-parallel-package-tasks").setBooleanValueSet().build();
     private static final ProvisioningOption OPTION_RECORD_ARTIFACTS = ProvisioningOption.builder("jboss-resolved-artifacts-cache")
             .setDefaultValue(".installation" + File.separator + ".cache")
             .build();
+    /**
+     * Path to a previously provisioned installation whose recorded artifacts (see jboss-resolved-artifacts-cache)
+     * are used instead of resolving the artifacts with Maven, when their files have not changed.
+     */
+    private static final ProvisioningOption OPTION_REUSE_ARTIFACTS_FROM = ProvisioningOption.builder("jboss-reuse-artifacts-from")
+            .setPersistent(false)
+            .build();
+    /**
+     * How the files of the reused artifacts are checked, using their hash or, faster, their last modified time.
+     */
+    private static final ProvisioningOption OPTION_REUSE_ARTIFACTS_CHECK = ProvisioningOption.builder("jboss-reuse-artifacts-check")
+            .addToValueSet("hash", "timestamp")
+            .setDefaultValue("hash")
+            .setPersistent(false)
+            .build();
+    /**
+     * Path to a previously provisioned installation whose JBoss modules are reused when the packages providing them
+     * have not changed. The fingerprints of the packages are stored in the new installation.
+     */
+    private static final ProvisioningOption OPTION_REUSE_MODULES_FROM = ProvisioningOption.builder("jboss-reuse-modules-from")
+            .setPersistent(false)
+            .build();
     private ProvisioningRuntime runtime;
     MessageWriter log;
 
@@ -165,13 +210,20 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
     private boolean thinServer;
 
     private Set<String> schemaGroups = Collections.emptySet();
+    private SchemaExtractor schemaExtractor;
+
+    // null unless the modules of a previous installation are reused
+    private ModuleFingerprints moduleFingerprints;
+    private ModuleFingerprints previousModuleFingerprints;
+    private Path previousInstallation;
+    private final Map<PackageRuntime, String> pkgFingerprints = new HashMap<>();
 
     private List<WildFlyPackageTask> finalizingTasks = Collections.emptyList();
     private List<PackageRuntime> finalizingTasksPkgs = Collections.emptyList();
 
     private DocumentBuilderFactory docBuilderFactory;
     private TransformerFactory xsltFactory;
-    private Map<String, Transformer> xslTransformers = Collections.emptyMap();
+    private final Map<Path, Templates> xslTemplates = new HashMap<>();
 
     private Map<FPID, ExampleFpConfigs> exampleConfigs = new LinkedHashMap<>();
 
@@ -188,11 +240,23 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
     private boolean channelArtifactResolution;
 
     private boolean bulkResolveArtifacts;
+    private RecordedArtifactsIndex recordedArtifacts;
+    private ArtifactResolutionStats resolutionStats = new ArtifactResolutionStats();
+
+    private PackageTaskScheduler taskScheduler;
+    // executes the independent XSL transformations when package tasks are executed concurrently
+    private ExecutorService xslExecutor;
+    private List<FileAppender> pendingFileAppenders = Collections.emptyList();
+    private List<PackageTaskFootprint> pendingFileAppendersFootprints = Collections.emptyList();
+    // Artifact resolution and installation are serialized when package tasks are executed concurrently
+    private final Object artifactLock = new Object();
 
     private final Map<MavenArtifact, MavenArtifact> artifactCache = new HashMap<>();
+    // Artifacts resolved during this provisioning, keyed by coordinates, version range and channel requirement
+    private final Map<String, MavenArtifact> resolvedArtifacts = new HashMap<>();
     private final Map<Path, ModuleTemplate> moduleTemplateCache = new HashMap<>();
 
-    private final Map<String, String> resolvedVersionsProperties = new HashMap<>();
+    private final ResolvedVersions resolvedVersions = new ResolvedVersions();
     private Map<ProducerSpec, WildFlyChannelResolutionMode> channelResolutionModes = new LinkedHashMap<>();
     private Map<String, ProducerSpec> gaToProducer = new HashMap<>();
     private final Map<String, ShadedModel> shadedPackages = new HashMap<>();
@@ -203,7 +267,8 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
                              OPTION_FORK_EMBEDDED, OPTION_MVN_REPO,
                              OPTION_RESET_EMBEDDED_SYSTEM_PROPERTIES,
                              OPTION_OVERRIDDEN_ARTIFACTS, OPTION_BULK_RESOLVE_ARTIFACTS,
-                             OPTION_RECORD_ARTIFACTS);
+                             OPTION_RECORD_ARTIFACTS, OPTION_PARALLEL_PACKAGE_TASKS, OPTION_MVN_REPO_HARD_LINKS,
+                             OPTION_REUSE_ARTIFACTS_FROM, OPTION_REUSE_ARTIFACTS_CHECK, OPTION_REUSE_MODULES_FROM);
     }
 
     public ProvisioningRuntime getRuntime() {
@@ -222,6 +287,63 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         return value == null ? null : Paths.get(value);
     }
 
+    private RecordedArtifactsIndex getRecordedArtifactsIndex() throws ProvisioningException {
+        if (!runtime.isOptionSet(OPTION_REUSE_ARTIFACTS_FROM)) {
+            return null;
+        }
+        final String value = runtime.getOptionValue(OPTION_REUSE_ARTIFACTS_FROM);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        if (thinServer || channelArtifactResolution) {
+            // The artifacts of a thin server must be present in the Maven repository
+            // and the channels may resolve other versions than the recorded ones.
+            log.verbose("Option %s is ignored for a thin server or when channels are enabled", OPTION_REUSE_ARTIFACTS_FROM.getName());
+            return null;
+        }
+        final Path installation = Paths.get(value);
+        final Path cacheDir = installation.resolve(runtime.getOptionValue(OPTION_RECORD_ARTIFACTS, OPTION_RECORD_ARTIFACTS.getDefaultValue()));
+        final boolean fast = "timestamp".equals(runtime.getOptionValue(OPTION_REUSE_ARTIFACTS_CHECK, OPTION_REUSE_ARTIFACTS_CHECK.getDefaultValue()));
+        try {
+            final RecordedArtifactsIndex index = RecordedArtifactsIndex.load(installation, cacheDir.resolve(ArtifactRecorder.ARTIFACT_LIST_FILE), fast);
+            if (index == null) {
+                log.verbose("No recorded artifacts found in %s", installation);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to read the recorded artifacts of " + installation, e);
+        }
+    }
+
+    private void initModuleFingerprints() throws ProvisioningException {
+        if (!runtime.isOptionSet(OPTION_REUSE_MODULES_FROM)) {
+            return;
+        }
+        final String value = runtime.getOptionValue(OPTION_REUSE_MODULES_FROM);
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (thinServer || channelArtifactResolution) {
+            // The artifact versions of the modules are not known from the feature-packs.
+            log.verbose("Option %s is ignored for a thin server or when channels are enabled", OPTION_REUSE_MODULES_FROM.getName());
+            return;
+        }
+        moduleFingerprints = new ModuleFingerprints();
+        previousInstallation = Paths.get(value);
+        try {
+            previousModuleFingerprints = ModuleFingerprints.load(previousInstallation);
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to read the module fingerprints of " + previousInstallation, e);
+        }
+        if (previousModuleFingerprints == null) {
+            log.verbose("No module fingerprints found in %s", previousInstallation);
+        }
+    }
+
+    private boolean isGeneratedMavenRepoHardLinks() throws ProvisioningException {
+        return getBooleanOption(OPTION_MVN_REPO_HARD_LINKS);
+    }
+
     private Map<String, String> getOverriddenArtifacts() throws ProvisioningException {
         if (!runtime.isOptionSet(OPTION_OVERRIDDEN_ARTIFACTS)) {
             return Collections.emptyMap();
@@ -237,6 +359,10 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         return getBooleanOption(OPTION_BULK_RESOLVE_ARTIFACTS);
     }
 
+    private boolean isParallelPackageTasks() throws ProvisioningException {
+        return getBooleanOption(OPTION_PARALLEL_PACKAGE_TASKS);
+    }
+
     private boolean isForkEmbedded(ProvisioningRuntime runtime) throws ProvisioningException {
         return getBooleanOption(OPTION_FORK_EMBEDDED);
     }
@@ -284,6 +410,7 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         this.runtime = runtime;
         log = runtime.getMessageWriter();
         log.verbose("WildFly Galleon Installation Plugin");
+        resolutionStats = new ArtifactResolutionStats();
 
         if (runtime.isOptionSet(OPTION_RECORD_ARTIFACTS)) {
             final String pathValue = runtime.getOptionValue(OPTION_RECORD_ARTIFACTS);
@@ -316,6 +443,8 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
             log.verbose("Channel not present in classpath.");
         }
         log.verbose("Channel artifact resolution enabled=" + channelArtifactResolution);
+        recordedArtifacts = getRecordedArtifactsIndex();
+        initModuleFingerprints();
         // Overridden artifacts
         overriddenArtifactVersions.putAll(getOverriddenArtifacts());
         for(FeaturePackRuntime fp : runtime.getFeaturePacks()) {
@@ -399,7 +528,7 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         // We must create resolver and installer at this point, prior to process the packges.
         // The CopyArtifact tasks could need the resolver and installer we are instantiating there.
         artifactResolver = this::resolveMaven;
-        artifactInstaller = new SimpleArtifactInstaller(artifactResolver, generatedMavenRepo, artifactRecorder);
+        artifactInstaller = new SimpleArtifactInstaller(artifactResolver, generatedMavenRepo, isGeneratedMavenRepoHardLinks(), artifactRecorder, resolutionStats, log);
 
         // Resolution of provisioning artifacts that we would need in the generated licenses.
         MavenArtifact configGen = Utils.toArtifactCoords(mergedArtifactVersions, CONFIG_GEN_GA,
@@ -420,35 +549,62 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         for(FeaturePackRuntime fp : runtime.getFeaturePacks()) {
             processShaded(fp);
         }
-        for(FeaturePackRuntime fp : runtime.getFeaturePacks()) {
-            processPackages(fp);
+        if (bulkResolveArtifacts) {
+            log.verbose("Preloading artifacts");
+            final ProgressTracker<MavenArtifact> artifactTracker = layoutFactory.getProgressTracker(TRACK_ARTIFACTS_RESOLVE);
+            populateArtifactCache();
+            artifactTracker.starting(artifactCache.size());
+            resolveArtifactsInCache(artifactTracker);
+            artifactTracker.complete();
+            log.verbose("Finished preloading artifacts");
+        }
+        if (isParallelPackageTasks()) {
+            taskScheduler = new PackageTaskScheduler(this, runtime.getStagedDir());
+        }
+        try {
+            for(FeaturePackRuntime fp : runtime.getFeaturePacks()) {
+                processPackages(fp);
+            }
+            flushFileAppenders();
+            if (taskScheduler != null) {
+                taskScheduler.awaitAll();
+            }
+        } finally {
+            pendingFileAppenders = Collections.emptyList();
+            pendingFileAppendersFootprints = Collections.emptyList();
+            if (taskScheduler != null) {
+                taskScheduler.close();
+                taskScheduler = null;
+            }
         }
         pkgProgressTracker.complete();
         if (!jbossModules.isEmpty()) {
-
-            if (bulkResolveArtifacts) {
-                log.verbose("Preloading artifacts");
-                final ProgressTracker<MavenArtifact> artifactTracker = layoutFactory.getProgressTracker(TRACK_ARTIFACTS_RESOLVE);
-                populateArtifactCache();
-                artifactTracker.starting(artifactCache.size());
-                resolveArtifactsInCache(artifactTracker);
-                artifactTracker.complete();
-                log.verbose("Finished preloading artifacts");
-            }
-
             final ProgressTracker<PackageRuntime> modulesTracker = layoutFactory.getProgressTracker(TRACK_MODULES_BUILD);
             modulesTracker.starting(jbossModules.size());
 
-            for (Map.Entry<Path, PackageRuntime> entry : jbossModules.entrySet()) {
-                final PackageRuntime pkg = entry.getValue();
-                modulesTracker.processing(pkg);
-                try {
-                    processModuleTemplate(pkg, entry.getKey());
-                } catch (IOException e) {
-                    throw new ProvisioningException("Failed to process JBoss module XML template for feature-pack "
-                            + pkg.getFeaturePackRuntime().getFPID() + " package " + pkg.getName(), e);
+            try {
+                for (Map.Entry<Path, PackageRuntime> entry : jbossModules.entrySet()) {
+                    final PackageRuntime pkg = entry.getValue();
+                    modulesTracker.processing(pkg);
+                    try {
+                        if (!reuseModule(pkg, entry.getKey())) {
+                            processModuleTemplate(pkg, entry.getKey());
+                        }
+                    } catch (IOException e) {
+                        throw new ProvisioningException("Failed to process JBoss module XML template for feature-pack "
+                                + pkg.getFeaturePackRuntime().getFPID() + " package " + pkg.getName(), e);
+                    }
+                    modulesTracker.processed(pkg);
+                }
+                // the schemas are extracted in the background while the module templates are processed
+                if (schemaExtractor != null) {
+                    schemaExtractor.awaitCompletion();
+                }
+            } finally {
+                if (schemaExtractor != null) {
+                    schemaExtractor.close();
+                    schemaExtractor = null;
                 }
-                modulesTracker.processed(pkg);
             }
             modulesTracker.complete();
         }
@@ -533,8 +689,13 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         }
 
         if(!finalizingTasks.isEmpty()) {
-            for(int i = 0; i < finalizingTasks.size(); ++i) {
-                finalizingTasks.get(i).execute(this, finalizingTasksPkgs.get(i));
+            try {
+                executeTasks(finalizingTasks, finalizingTasksPkgs);
+            } finally {
+                if (xslExecutor != null) {
+                    xslExecutor.shutdownNow();
+                    xslExecutor = null;
+                }
             }
         }
 
@@ -542,6 +703,26 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
             provisionExampleConfigs();
         }
 
+        if (runtime.hasConfigs()) {
+            try {
+                final ConfigFingerprints configFingerprints = ConfigFingerprints.record(runtime.getStagedDir());
+                if (!configFingerprints.isEmpty()) {
+                    configFingerprints.store(runtime.getStagedDir());
+                }
+            } catch (IOException e) {
+                // the fingerprints only save reading the unchanged configs of the next provisioning
+                log.verbose(e, "Unable to store the config fingerprints");
+            }
+        }
+
+        if (moduleFingerprints != null) {
+            try {
+                moduleFingerprints.store(runtime.getStagedDir());
+            } catch (IOException e) {
+                throw new ProvisioningException("Unable to store the module fingerprints", e);
+            }
+        }
+
         if (artifactRecorder.isPresent()) {
             try {
                 artifactRecorder.get().writeCacheManifest();
@@ -550,14 +731,70 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
             }
         }
 
+        reportResolutionStats();
+
         if (startTime > 0) {
             log.print(Errors.tookTime("Overall WildFly Galleon Plugin", startTime));
         }
     }
 
+    private void reportResolutionStats() throws ProvisioningException {
+        resolutionStats.report(log, runtime.isLogTime());
+        if (runtime.isLogTime() && log.isVerboseEnabled()) {
+            try {
+                final Path statsFile = runtime.getStagedDir().resolve(Constants.PROVISIONED_STATE_DIR).resolve(ARTIFACT_RESOLUTION_STATS_FILE);
+                Files.createDirectories(statsFile.getParent());
+                Files.writeString(statsFile, resolutionStats.toJson());
+                log.print("Artifact resolution statistics written to %s/%s in the installation",
+                        Constants.PROVISIONED_STATE_DIR, ARTIFACT_RESOLUTION_STATS_FILE);
+            } catch (IOException e) {
+                throw new ProvisioningException("Failed to write the artifact resolution statistics", e);
+            }
+        }
+    }
+
+    /**
+     * Collects the artifacts of the JBoss modules, of the copy-artifact tasks and of the shaded models,
+     * so they are resolved in a single bulk operation before the packages are processed.
+     */
     private void populateArtifactCache() throws ProvisioningException {
-        for (Entry<Path, PackageRuntime> entry : jbossModules.entrySet()) {
+        // module.xml templates, the last package defining a module wins, as it does when the packages are processed
+        final Map<Path, PackageRuntime> moduleTemplates = new LinkedHashMap<>();
+        for (FeaturePackRuntime fp : runtime.getFeaturePacks()) {
+            for (PackageRuntime pkg : fp.getPackages()) {
+                final Path pmWfDir = pkg.getResource(WfConstants.PM, WfConstants.WILDFLY);
+                if (!Files.exists(pmWfDir)) {
+                    continue;
+                }
+                final Path moduleDir = pmWfDir.resolve(WfConstants.MODULE);
+                if (Files.exists(moduleDir)) {
+                    try (Stream<Path> files = Files.walk(moduleDir)) {
+                        files.filter(file -> file.getFileName().toString().equals(WfConstants.MODULE_XML))
+                                .forEach(file -> moduleTemplates.put(moduleDir.relativize(file), pkg));
+                    } catch (IOException e) {
+                        throw new ProvisioningException(Errors.readDirectory(moduleDir), e);
+                    }
+                }
+                final Path tasksXml = pmWfDir.resolve(WfConstants.TASKS_XML);
+                if (Files.exists(tasksXml)) {
+                    for (WildFlyPackageTask task : WildFlyPackageTasks.load(tasksXml).getTasks()) {
+                        if (task instanceof CopyArtifact) {
+                            addToArtifactCache(toCopiedArtifactCoords((CopyArtifact) task, pkg));
+                        }
+                    }
+                }
+            }
+        }
+        for (ShadedModel model : shadedPackages.values()) {
+            for (MavenArtifact artifact : model.getUnresolvedArtifacts()) {
+                addToArtifactCache(artifact);
+            }
+        }
+        for (Entry<Path, PackageRuntime> entry : moduleTemplates.entrySet()) {
             final PackageRuntime pkg = entry.getValue();
+            if (isUnchangedModule(pkg, entry.getKey())) {
+                continue;
+            }
             try {
                 findArtifacts(pkg, entry.getKey());
             } catch (IOException e) {
@@ -567,6 +804,21 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         }
     }
 
+    private void addToArtifactCache(MavenArtifact mavenArtifact) throws ProvisioningException {
+        if (mavenArtifact == null || findRecordedArtifact(mavenArtifact) != null) {
+            return;
+        }
+        final MavenArtifact key = new MavenArtifact();
+        key.setGroupId(mavenArtifact.getGroupId());
+        key.setArtifactId(mavenArtifact.getArtifactId());
+        key.setExtension(mavenArtifact.getExtension());
+        key.setClassifier(mavenArtifact.getClassifier());
+        key.setVersion(mavenArtifact.getVersion());
+        key.setVersionRange(mavenArtifact.getVersionRange());
+
+        artifactCache.putIfAbsent(key, mavenArtifact);
+    }
+
     private void findArtifacts(PackageRuntime pkg, Path moduleXmlRelativePath) throws ProvisioningException, IOException {
         final Path moduleTemplateFile = pkg.getResource(WfConstants.PM, WfConstants.WILDFLY, WfConstants.MODULE).resolve(moduleXmlRelativePath);
         final Path targetPath = runtime.getStagedDir().resolve(moduleXmlRelativePath.toString());
@@ -587,24 +839,18 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
             final AbstractModuleTemplateProcessor.ModuleArtifact moduleArtifact = new AbstractModuleTemplateProcessor.ModuleArtifact(moduleTemplate,
                     artifacts.get(i), versionProps, log, artifactInstaller, channelArtifactResolution,
                     requireChannel(pkg.getFeaturePackRuntime().getFPID().getProducer()));
-            final MavenArtifact mavenArtifact = moduleArtifact.getUnresolvedArtifact();
-            if (mavenArtifact != null) {
-                final MavenArtifact key = new MavenArtifact();
-                key.setGroupId(mavenArtifact.getGroupId());
-                key.setArtifactId(mavenArtifact.getArtifactId());
-                key.setExtension(mavenArtifact.getExtension());
-                key.setClassifier(mavenArtifact.getClassifier());
-                key.setVersion(mavenArtifact.getVersion());
-                key.setVersionRange(mavenArtifact.getVersionRange());
-
-                artifactCache.put(key, mavenArtifact);
-            }
+            addToArtifactCache(moduleArtifact.getUnresolvedArtifact());
         }
     }
 
     private void resolveArtifactsInCache(ProgressTracker<MavenArtifact> tracker) throws ProvisioningException {
+        if (artifactCache.isEmpty()) {
+            return;
+        }
+        final long startTime = System.nanoTime();
         try {
             maven.resolveAll(addListener(artifactCache.values(), tracker));
+            resolutionStats.bulkResolved(artifactCache.size(), System.nanoTime() - startTime);
         } catch (MavenUniverseException e) {
             throw new ProvisioningException("Failed to resolve artifact", e);
         }
@@ -898,6 +1144,13 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
             }
             final Path moduleDir = pmWfDir.resolve(WfConstants.MODULE);
             if(Files.exists(moduleDir)) {
+                final PackageTaskFootprint modulesFootprint = getModulesFootprint(moduleDir);
+                if (isConflictingWithFileAppenders(modulesFootprint)) {
+                    flushFileAppenders();
+                }
+                if (taskScheduler != null) {
+                    taskScheduler.await(modulesFootprint);
+                }
                 processModules(pkg, moduleDir);
             }
             final Path tasksXml = pmWfDir.resolve(WfConstants.TASKS_XML);
@@ -905,16 +1158,28 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
                 final WildFlyPackageTasks pkgTasks = WildFlyPackageTasks.load(tasksXml);
                 if (pkgTasks.hasTasks()) {
                     log.verbose("Processing %s package %s tasks", fp.getFPID(), pkg.getName());
+                    List<WildFlyPackageTask> processingTasks = Collections.emptyList();
                     for (WildFlyPackageTask task : pkgTasks.getTasks()) {
                         if (task.getPhase() == WildFlyPackageTask.Phase.PROCESSING) {
-                            task.execute(this, pkg);
+                            processingTasks = CollectionUtils.add(processingTasks, task);
                         } else {
                             finalizingTasks = CollectionUtils.add(finalizingTasks, task);
                             finalizingTasksPkgs = CollectionUtils.add(finalizingTasksPkgs, pkg);
                         }
                     }
+                    executeProcessingTasks(processingTasks, pkg);
                 }
                 if (pkgTasks.hasMkDirs()) {
+                    final PackageTaskFootprint.Builder footprint = PackageTaskFootprint.builder();
+                    for (String dirName : pkgTasks.getMkDirs()) {
+                        footprint.addWrite(dirName);
+                    }
+                    if (isConflictingWithFileAppenders(footprint.build())) {
+                        flushFileAppenders();
+                    }
+                    if (taskScheduler != null) {
+                        taskScheduler.await(footprint.build());
+                    }
                     mkdirs(pkgTasks, this.runtime.getStagedDir());
                 }
 
@@ -926,6 +1191,13 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
                 }
 
                 final List<LineEndingsTask> processingLineEndingTasks = pkgTasks.getLineEndings().stream().filter(t -> t.getPhase() == WildFlyPackageTask.Phase.PROCESSING).collect(Collectors.toList());
+                if (!processingLineEndingTasks.isEmpty()) {
+                    // line endings are converted in the whole installation
+                    flushFileAppenders();
+                    if (taskScheduler != null) {
+                        taskScheduler.awaitAll();
+                    }
+                }
                 for (LineEndingsTask lineEnding : processingLineEndingTasks) {
                     lineEnding.execute(this, pkg);
                 }
@@ -934,18 +1206,161 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         }
     }
 
+    /**
+     * Executes the processing tasks of a package. File appenders are deferred so that the appenders
+     * of all the packages that target the same file are applied together, they are applied before
+     * any later task that reads or writes the files they read or write.
+     */
+    private void executeProcessingTasks(List<WildFlyPackageTask> tasks, PackageRuntime pkg) throws ProvisioningException {
+        List<WildFlyPackageTask> batch = Collections.emptyList();
+        for (WildFlyPackageTask task : tasks) {
+            if (task instanceof FileAppender) {
+                pendingFileAppenders = CollectionUtils.add(pendingFileAppenders, (FileAppender) task);
+                pendingFileAppendersFootprints = CollectionUtils.add(pendingFileAppendersFootprints, task.getFootprint(this, pkg));
+                continue;
+            }
+            if (!pendingFileAppenders.isEmpty() && isConflictingWithFileAppenders(task.getFootprint(this, pkg))) {
+                executeOrSchedule(batch, pkg);
+                batch = Collections.emptyList();
+                flushFileAppenders();
+            }
+            batch = CollectionUtils.add(batch, task);
+        }
+        executeOrSchedule(batch, pkg);
+    }
+
+    private void executeOrSchedule(List<WildFlyPackageTask> tasks, PackageRuntime pkg) throws ProvisioningException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        if (taskScheduler != null) {
+            for (WildFlyPackageTask task : tasks) {
+                taskScheduler.schedule(task, pkg);
+            }
+        } else {
+            executeTasks(tasks, Collections.nCopies(tasks.size(), pkg));
+        }
+    }
+
+    private boolean isConflictingWithFileAppenders(PackageTaskFootprint footprint) {
+        if (footprint == null) {
+            return !pendingFileAppenders.isEmpty();
+        }
+        for (PackageTaskFootprint appenderFootprint : pendingFileAppendersFootprints) {
+            if (PackageTaskScheduler.conflict(runtime.getStagedDir(), footprint, appenderFootprint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void flushFileAppenders() throws ProvisioningException {
+        if (pendingFileAppenders.isEmpty()) {
+            return;
+        }
+        if (taskScheduler != null) {
+            for (PackageTaskFootprint footprint : pendingFileAppendersFootprints) {
+                taskScheduler.await(footprint);
+            }
+        }
+        FileAppender.append(this, pendingFileAppenders);
+        pendingFileAppenders = Collections.emptyList();
+        pendingFileAppendersFootprints = Collections.emptyList();
+    }
+
+    /**
+     * Executes the tasks in order. When package tasks are executed concurrently, consecutive XSL transformations
+     * that do not read or write each other's files are executed concurrently.
+     */
+    private void executeTasks(List<WildFlyPackageTask> tasks, List<PackageRuntime> pkgs) throws ProvisioningException {
+        final boolean parallel = isParallelPackageTasks();
+        int i = 0;
+        while (i < tasks.size()) {
+            int end = i + 1;
+            if (parallel && tasks.get(i) instanceof XslTransform) {
+                while (end < tasks.size() && tasks.get(end) instanceof XslTransform
+                        && isIndependentXslTransform(tasks.subList(i, end), (XslTransform) tasks.get(end))) {
+                    ++end;
+                }
+            }
+            if (end - i == 1) {
+                tasks.get(i).execute(this, pkgs.get(i));
+            } else {
+                executeConcurrently(tasks.subList(i, end), pkgs.subList(i, end));
+            }
+            i = end;
+        }
+    }
+
+    private boolean isIndependentXslTransform(List<WildFlyPackageTask> batch, XslTransform xslt) {
+        final Path stagedDir = runtime.getStagedDir();
+        final Path src = stagedDir.resolve(xslt.getSrc()).normalize();
+        final Path output = stagedDir.resolve(xslt.getOutput()).normalize();
+        final Path stylesheet = stagedDir.resolve(xslt.getStylesheet()).normalize();
+        for (WildFlyPackageTask task : batch) {
+            final XslTransform other = (XslTransform) task;
+            // the source is rewritten with the replaced properties, so it is both read and written
+            final Path otherSrc = stagedDir.resolve(other.getSrc()).normalize();
+            final Path otherOutput = stagedDir.resolve(other.getOutput()).normalize();
+            final Path otherStylesheet = stagedDir.resolve(other.getStylesheet()).normalize();
+            if (src.equals(otherSrc) || src.equals(otherOutput) || src.equals(otherStylesheet)
+                    || output.equals(otherSrc) || output.equals(otherOutput) || output.equals(otherStylesheet)
+                    || stylesheet.equals(otherSrc) || stylesheet.equals(otherOutput)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void executeConcurrently(List<WildFlyPackageTask> tasks, List<PackageRuntime> pkgs) throws ProvisioningException {
+        if (xslExecutor == null) {
+            xslExecutor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        }
+        final List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); ++i) {
+            final WildFlyPackageTask task = tasks.get(i);
+            final PackageRuntime pkg = pkgs.get(i);
+            futures.add(xslExecutor.submit(() -> {
+                task.execute(this, pkg);
+                return null;
+            }));
+        }
+        // all the tasks of the batch complete before a failure is reported
+        ProvisioningException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof ProvisioningException ? (ProvisioningException) e.getCause()
+                            : new ProvisioningException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProvisioningException("Interrupted while executing package tasks", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     public void xslTransform(PackageRuntime pkg, XslTransform xslt) throws ProvisioningException {
 
         final Path src = runtime.getStagedDir().resolve(xslt.getSrc());
         if (!Files.exists(src)) {
             throw new ProvisioningException(Errors.pathDoesNotExist(src));
         }
-        // Copy the path to handle replacements
-        Path tmp = runtime.getTmpPath().resolve(src.getFileName());
+        // Replace the properties in memory, the replaced content is written back to the source
+        // and parsed from memory into a (non-namespace-aware) DOM, the input of the transformation.
+        final CharArrayWriter replaced = new CharArrayWriter();
         try {
-            PropertyResolver versionsResolver = new MapPropertyResolver(resolvedVersionsProperties);
-            PropertyReplacer.copy(src, tmp, versionsResolver, "Not Installed");
-            Files.copy(tmp, src, StandardCopyOption.REPLACE_EXISTING);
+            try (BufferedReader reader = Files.newBufferedReader(src)) {
+                resolvedVersions.replace(reader, replaced);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(src)) {
+                replaced.writeTo(writer);
+            }
         } catch (IOException ex) {
             throw new ProvisioningException(ex);
         }
@@ -954,9 +1369,9 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
             throw new ProvisioningException(Errors.pathAlreadyExists(output));
         }
 
-        try (InputStream srcInput = Files.newInputStream(src); OutputStream outStream = Files.newOutputStream(output)) {
-            final org.w3c.dom.Document document = getXmlDocumentBuilderFactory().newDocumentBuilder().parse(srcInput);
-            final Transformer transformer = getXslTransformer(xslt.getStylesheet());
+        try (OutputStream outStream = Files.newOutputStream(output)) {
+            // a new transformer per transformation, parameters of previous transformations are not carried over
+            final Transformer transformer = getXslTemplates(runtime.getStagedDir().resolve(xslt.getStylesheet())).newTransformer();
             if (xslt.hasParams()) {
                 for (Map.Entry<String, String> param : xslt.getParams().entrySet()) {
                     transformer.setParameter(param.getKey(), param.getValue());
@@ -968,7 +1383,7 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
                     transformer.setParameter(prop.getKey(), prop.getValue());
                 }
             }
-            final DOMSource source = new DOMSource(document);
+            final DOMSource source = new DOMSource(parseXml(replaced));
             final StreamResult result = new StreamResult(outStream);
             transformer.transform(source, result);
         } catch (ProvisioningException e) {
@@ -979,17 +1394,15 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         }
     }
 
-    private Transformer getXslTransformer(String stylesheet) throws ProvisioningException {
-        Transformer transformer = xslTransformers.get(stylesheet);
-        if(transformer != null) {
-            return transformer;
+    private org.w3c.dom.Document parseXml(CharArrayWriter xml) throws Exception {
+        final DocumentBuilder builder;
+        synchronized (this) {
+            builder = getXmlDocumentBuilderFactory().newDocumentBuilder();
         }
-        transformer = getXslTransformer(runtime.getStagedDir().resolve(stylesheet));
-        xslTransformers = CollectionUtils.put(xslTransformers, stylesheet, transformer);
-        return transformer;
+        return builder.parse(new InputSource(new CharArrayReader(xml.toCharArray())));
     }
 
-    public DocumentBuilderFactory getXmlDocumentBuilderFactory() {
+    public synchronized DocumentBuilderFactory getXmlDocumentBuilderFactory() {
         if(docBuilderFactory == null) {
             docBuilderFactory = DocumentBuilderFactory.newInstance();
         }
@@ -997,18 +1410,47 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
     }
 
     public Transformer getXslTransformer(Path p) throws ProvisioningException {
+        try {
+            return getXslTemplates(p).newTransformer();
+        } catch (TransformerConfigurationException e) {
+            throw new ProvisioningException("Failed to initialize a transformer for " + p, e);
+        }
+    }
+
+    /**
+     * Returns the compiled stylesheet. A stylesheet is compiled once per provisioning,
+     * the returned {@link Templates} can be shared between threads.
+     */
+    private synchronized Templates getXslTemplates(Path p) throws ProvisioningException {
+        final Path key = p.toAbsolutePath().normalize();
+        Templates templates = xslTemplates.get(key);
+        if (templates != null) {
+            return templates;
+        }
         if(!Files.exists(p)) {
             throw new ProvisioningException(Errors.pathDoesNotExist(p));
         }
         try (InputStream styleInput = Files.newInputStream(p)) {
-            final StreamSource stylesource = new StreamSource(styleInput);
+            final StreamSource stylesource = new StreamSource(styleInput, p.toUri().toString());
             if(xsltFactory == null) {
                 xsltFactory = TransformerFactory.newInstance();
             }
-            return xsltFactory.newTransformer(stylesource);
+            templates = xsltFactory.newTemplates(stylesource);
         } catch (Exception e) {
             throw new ProvisioningException("Failed to initialize a transformer for " + p, e);
         }
+        xslTemplates.put(key, templates);
+        return templates;
+    }
+
+    private static PackageTaskFootprint getModulesFootprint(Path fpModuleDir) throws ProvisioningException {
+        final PackageTaskFootprint.Builder builder = PackageTaskFootprint.builder();
+        try (Stream<Path> children = Files.list(fpModuleDir)) {
+            children.forEach(child -> builder.addWrite(child.getFileName().toString()));
+        } catch (IOException e) {
+            throw new ProvisioningException(Errors.readDirectory(fpModuleDir), e);
+        }
+        return builder.build();
     }
 
     private void processModules(PackageRuntime pkg, Path fpModuleDir) throws ProvisioningException {
@@ -1054,6 +1496,79 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         }
     }
 
+    private String getPackageFingerprint(PackageRuntime pkg) throws ProvisioningException {
+        String fingerprint = pkgFingerprints.get(pkg);
+        if (fingerprint == null) {
+            final FPID fpid = pkg.getFeaturePackRuntime().getFPID();
+            try {
+                fingerprint = ModuleFingerprints.fingerprint(fpid, pkg.getName(),
+                        pkg.getResource(WfConstants.PM, WfConstants.WILDFLY, WfConstants.MODULE), fpArtifactVersions.get(fpid.getProducer()));
+            } catch (IOException e) {
+                throw new ProvisioningException("Failed to compute the fingerprint of package " + pkg.getName() + " from feature-pack " + fpid, e);
+            }
+            pkgFingerprints.put(pkg, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private boolean isUnchangedModule(PackageRuntime pkg, Path moduleXmlRelativePath) throws ProvisioningException {
+        return previousModuleFingerprints != null
+                && getPackageFingerprint(pkg).equals(previousModuleFingerprints.get(moduleXmlRelativePath));
+    }
+
+    /**
+     * Copies the module.xml and the artifacts of a module from the previous installation, if the package providing
+     * the module has not changed and the files of the module have not been modified since the previous installation.
+     *
+     * @return true if the module has been reused, false if it has to be processed
+     */
+    private boolean reuseModule(PackageRuntime pkg, Path moduleXmlRelativePath) throws ProvisioningException, IOException {
+        if (moduleFingerprints == null) {
+            return false;
+        }
+        moduleFingerprints.put(moduleXmlRelativePath, getPackageFingerprint(pkg));
+        if (!isUnchangedModule(pkg, moduleXmlRelativePath)) {
+            return false;
+        }
+        final Path previousModuleXml = previousInstallation.resolve(moduleXmlRelativePath.toString());
+        if (!Files.exists(previousModuleXml) || previousModuleFingerprints.isModified(previousModuleXml)) {
+            return false;
+        }
+        final Path moduleTemplateFile = pkg.getResource(WfConstants.PM, WfConstants.WILDFLY, WfConstants.MODULE).resolve(moduleXmlRelativePath);
+        final Path targetPath = runtime.getStagedDir().resolve(moduleXmlRelativePath.toString());
+        final ModuleTemplate moduleTemplate = new ModuleTemplate(pkg, moduleTemplateFile, targetPath);
+        final Map<Path, MavenArtifact> previousArtifacts = new LinkedHashMap<>();
+        final Elements artifacts = moduleTemplate.isModule() ? moduleTemplate.getArtifacts() : null;
+        if (artifacts != null) {
+            final Map<String, String> versionProps = fpArtifactVersions.get(pkg.getFeaturePackRuntime().getFPID().getProducer());
+            for (int i = 0; i < artifacts.size(); i++) {
+                final MavenArtifact artifact = new AbstractModuleTemplateProcessor.ModuleArtifact(moduleTemplate, artifacts.get(i),
+                        versionProps, log, artifactInstaller, false, false).getUnresolvedArtifact();
+                if (artifact == null || artifact.getVersion() == null) {
+                    return false;
+                }
+                final Path previousJar = previousModuleXml.resolveSibling(artifact.getArtifactFileName());
+                if (!Files.exists(previousJar) || previousModuleFingerprints.isModified(previousJar)) {
+                    return false;
+                }
+                previousArtifacts.put(previousJar, artifact);
+            }
+        }
+        FileCopier.copy(previousModuleXml, targetPath);
+        for (Map.Entry<Path, MavenArtifact> entry : previousArtifacts.entrySet()) {
+            final Path jarTarget = targetPath.resolveSibling(entry.getKey().getFileName().toString());
+            resolutionStats.copied(FileCopier.copy(entry.getKey(), jarTarget));
+            if (artifactRecorder.isPresent()) {
+                artifactRecorder.get().record(entry.getValue(), jarTarget);
+            }
+            // the version comes from the feature-pack artifact versions, as it would when resolving the artifact
+            resolvedVersions.add(entry.getValue());
+            processSchemas(entry.getValue().getGroupId(), jarTarget);
+        }
+        log.verbose("Reusing module %s of %s", moduleXmlRelativePath, previousInstallation);
+        return true;
+    }
+
     private void processModuleTemplate(PackageRuntime pkg, Path moduleXmlRelativePath) throws ProvisioningException, IOException {
         final Path moduleTemplateFile = pkg.getResource(WfConstants.PM, WfConstants.WILDFLY, WfConstants.MODULE).resolve(moduleXmlRelativePath);
         final Path targetPath = runtime.getStagedDir().resolve(moduleXmlRelativePath.toString());
@@ -1104,15 +1619,12 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         }
     }
 
+    private Path getSchemasDir() {
+        return this.runtime.getStagedDir().resolve(WfConstants.DOCS).resolve(WfConstants.SCHEMA);
+    }
+
     private void extractSchemas(Path moduleArtifact) throws IOException {
-        final Path targetSchemasDir = this.runtime.getStagedDir().resolve(WfConstants.DOCS).resolve(WfConstants.SCHEMA);
-        Files.createDirectories(targetSchemasDir);
-        try (FileSystem jarFS = FileSystems.newFileSystem(moduleArtifact, (ClassLoader) null)) {
-            final Path schemaSrc = jarFS.getPath(WfConstants.SCHEMA);
-            if (Files.exists(schemaSrc)) {
-                ZipUtils.copyFromZip(schemaSrc.toAbsolutePath(), targetSchemasDir);
-            }
-        }
+        SchemaExtractor.extract(moduleArtifact, getSchemasDir());
     }
 
     private boolean requireChannel(String artifactGA) {
@@ -1140,25 +1652,51 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
         }
     }
 
-    public void copyArtifact(CopyArtifact copyArtifact, PackageRuntime pkg) throws ProvisioningException {
-        final MavenArtifact artifact = Utils.toArtifactCoords(copyArtifact.isFeaturePackVersion() ? fpArtifactVersions.get(pkg.getFeaturePackRuntime().getFPID().getProducer())
+    private MavenArtifact toCopiedArtifactCoords(CopyArtifact copyArtifact, PackageRuntime pkg) throws ProvisioningException {
+        return Utils.toArtifactCoords(copyArtifact.isFeaturePackVersion() ? fpArtifactVersions.get(pkg.getFeaturePackRuntime().getFPID().getProducer())
                         : mergedArtifactVersions,
                 copyArtifact.getArtifact(), copyArtifact.isOptional(),
                 channelArtifactResolution, requireChannel(pkg.getFeaturePackRuntime().getFPID().getProducer()));
+    }
+
+    public PackageTaskFootprint getCopyArtifactFootprint(CopyArtifact copyArtifact, PackageRuntime pkg) {
+        final MavenArtifact artifact;
+        try {
+            artifact = toCopiedArtifactCoords(copyArtifact, pkg);
+        } catch (ProvisioningException e) {
+            return null;
+        }
+        final PackageTaskFootprint.Builder builder = PackageTaskFootprint.builder();
+        if (artifact == null) {
+            return builder.build();
+        }
+        // if the location is a directory, the name of the file is only known once the artifact is resolved
+        builder.addWrite(copyArtifact.getToLocation());
+        if (schemaGroups.contains(artifact.getGroupId())) {
+            builder.addWrite(WfConstants.DOCS + '/' + WfConstants.SCHEMA);
+        }
+        return builder.build();
+    }
+
+    public void copyArtifact(CopyArtifact copyArtifact, PackageRuntime pkg) throws ProvisioningException {
+        final MavenArtifact artifact = toCopiedArtifactCoords(copyArtifact, pkg);
         if(artifact == null) {
             return;
         }
         try {
-            log.verbose("Resolving artifact %s ", artifact);
-            artifactResolver.resolve(artifact);
-            if (channelArtifactResolution) {
-                log.verbose("Resolved artifact %s ", artifact);
-            }
-            // If transformation occurs, the actual jar artifact file is renamed.
-            // * Copied artifact for which we expect a well known name have a location file name, e.g.: jboss-modules.jar or bin/client/jboss-client.jar
-            // * Copied artifact that are extracted, e.g.: openssl lib, the jar name is meaningless.
-            // * Copied artifact that expect the name of the JAR artifact file to be used are impacted. (eg: resteasy-spring jar located in main/bundled/resteasy-spring-jar/resteasy-spring-XXX.Final-ee9.jar)
-            Path jarSrc =  artifactInstaller.installCopiedArtifact(artifact);
+            final Path jarSrc;
+            synchronized (artifactLock) {
+                log.verbose("Resolving artifact %s ", artifact);
+                artifactResolver.resolve(artifact);
+                if (channelArtifactResolution) {
+                    log.verbose("Resolved artifact %s ", artifact);
+                }
+                // If transformation occurs, the actual jar artifact file is renamed.
+                // * Copied artifact for which we expect a well known name have a location file name, e.g.: jboss-modules.jar or bin/client/jboss-client.jar
+                // * Copied artifact that are extracted, e.g.: openssl lib, the jar name is meaningless.
+                // * Copied artifact that expect the name of the JAR artifact file to be used are impacted. (eg: resteasy-spring jar located in main/bundled/resteasy-spring-jar/resteasy-spring-XXX.Final-ee9.jar)
+                jarSrc = artifactInstaller.installCopiedArtifact(artifact);
+            }
             String location = copyArtifact.getToLocation();
             if (!location.isEmpty() && location.charAt(location.length() - 1) == '/') {
                 // if the to location ends with a / then it is a directory
@@ -1178,13 +1716,11 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
                 }
             } else {
                 if (artifactRecorder.isPresent()) {
-                    try {
-                        artifactRecorder.get().record(artifact, jarTarget);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
+                    artifactRecorder.get().copy(artifact, jarSrc, jarTarget);
+                    resolutionStats.copied(Files.size(jarTarget));
+                } else {
+                    resolutionStats.copied(FileCopier.copy(jarSrc, jarTarget));
                 }
-                IoUtils.copy(jarSrc, jarTarget);
             }
             // only attempt to extract schemas if the artifact is a zip archive
             if(schemaGroups.contains(artifact.getGroupId())
@@ -1198,7 +1734,10 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
 
     void processSchemas(String groupId, Path artifactPath) throws IOException {
         if (schemaGroups.contains(groupId)) {
-            extractSchemas(artifactPath);
+            if (schemaExtractor == null) {
+                schemaExtractor = new SchemaExtractor(getSchemasDir());
+            }
+            schemaExtractor.submit(artifactPath);
         }
     }
 
@@ -1291,15 +1830,66 @@ public class WfInstallPlugin extends ProvisioningPluginWithOptions implements In
     }
 
     void resolveMaven(MavenArtifact artifact) throws ProvisioningException {
-        if (bulkResolveArtifacts && artifactCache.containsKey(artifact)) {
-            final MavenArtifact resolvedArtifact = artifactCache.get(artifact);
-            artifact.setVersion(resolvedArtifact.getVersion());
-            artifact.setPath(resolvedArtifact.getPath());
-        } else {
-            maven.resolve(artifact);
+        final String key = artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getClassifier() + ':'
+                + artifact.getExtension() + ':' + artifact.getVersion() + ':' + artifact.getVersionRange() + ':'
+                + artifact.getMetadata().get(REQUIRES_CHANNEL_FOR_ARTIFACT_RESOLUTION_PROPERTY);
+        synchronized (artifactLock) {
+            if (setResolvedArtifact(key, artifact)) {
+                return;
+            }
+        }
+        // checking the recorded file may hash it, the other artifacts are resolved meanwhile
+        final Path recordedPath = findRecordedArtifact(artifact);
+        synchronized (artifactLock) {
+            if (setResolvedArtifact(key, artifact)) {
+                return;
+            }
+            if (recordedPath != null) {
+                resolutionStats.recordedHit();
+                artifact.setPath(recordedPath);
+            } else if (bulkResolveArtifacts && artifactCache.containsKey(artifact)) {
+                resolutionStats.bulkHit();
+                final MavenArtifact resolvedArtifact = artifactCache.get(artifact);
+                artifact.setVersion(resolvedArtifact.getVersion());
+                artifact.setPath(resolvedArtifact.getPath());
+            } else {
+                // with channel resolution enabled, an artifact of a feature-pack that requires channels is resolved from the channels
+                final boolean channel = channelArtifactResolution
+                        && Boolean.parseBoolean(artifact.getMetadata().get(REQUIRES_CHANNEL_FOR_ARTIFACT_RESOLUTION_PROPERTY));
+                final long startTime = System.nanoTime();
+                maven.resolve(artifact);
+                resolutionStats.resolved(System.nanoTime() - startTime, channel);
+            }
+            final MavenArtifact memo = new MavenArtifact();
+            memo.setVersion(artifact.getVersion());
+            memo.setPath(artifact.getPath());
+            resolvedArtifacts.put(key, memo);
         }
         // These properties are present in *-licenses.xml and must be replaced by the resolved ones.
-        resolvedVersionsProperties.put("version."+artifact.getGroupId()+"."+artifact.getArtifactId(), artifact.getVersion());
+        resolvedVersions.add(artifact);
+    }
+
+    private boolean setResolvedArtifact(String key, MavenArtifact artifact) {
+        final MavenArtifact resolved = resolvedArtifacts.get(key);
+        if (resolved == null) {
+            return false;
+        }
+        resolutionStats.memoHit();
+        artifact.setVersion(resolved.getVersion());
+        artifact.setPath(resolved.getPath());
+        return true;
+    }
+
+    private Path findRecordedArtifact(MavenArtifact artifact) throws ProvisioningException {
+        // Without a version, the artifact must be resolved from the feature-pack channels
+        if (recordedArtifacts == null || !artifact.hasVersion()) {
+            return null;
+        }
+        try {
+            return recordedArtifacts.find(artifact);
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to check the recorded artifact " + artifact.getCoordsAsString(), e);
+        }
     }
 
     boolean isOverriddenArtifact(MavenArtifact artifact) throws ProvisioningException {
@@ -35,5 +35,14 @@ public interface WildFlyPackageTask {
         return Phase.PROCESSING;
     }
 
+    /**
+     * Returns the paths this task reads and writes in the installation directory
+     * or null if they are not known before the task is executed.
+     * Tasks with an unknown footprint are never executed concurrently with other tasks.
+     */
+    default PackageTaskFootprint getFootprint(WfInstallPlugin plugin, PackageRuntime pkg) {
+        return null;
+    }
+
     void execute(WfInstallPlugin plugin, PackageRuntime pkg) throws ProvisioningException;
 }
@@ -23,6 +23,7 @@ import java.util.List;
 import org.jboss.galleon.ProvisioningException;
 import org.jboss.galleon.runtime.PackageRuntime;
 import org.jboss.galleon.util.CollectionUtils;
+import org.wildfly.galleon.plugin.PackageTaskFootprint;
 import org.wildfly.galleon.plugin.WfInstallPlugin;
 import org.wildfly.galleon.plugin.WildFlyPackageTask;
 
@@ -103,6 +104,11 @@ public class CopyArtifact implements WildFlyPackageTask {
         return featurePackVersion;
     }
 
+    @Override
+    public PackageTaskFootprint getFootprint(WfInstallPlugin plugin, PackageRuntime pkg) {
+        return plugin.getCopyArtifactFootprint(this, pkg);
+    }
+
     @Override
     public void execute(WfInstallPlugin plugin, PackageRuntime pkg) throws ProvisioningException {
         try {
@@ -20,6 +20,7 @@ import javax.xml.stream.XMLStreamException;
 
 import org.jboss.galleon.ProvisioningException;
 import org.jboss.galleon.runtime.PackageRuntime;
+import org.wildfly.galleon.plugin.PackageTaskFootprint;
 import org.wildfly.galleon.plugin.WfConstants;
 import org.wildfly.galleon.plugin.WfInstallPlugin;
 import org.wildfly.galleon.plugin.WildFlyPackageTask;
@@ -73,6 +74,12 @@ public class CopyPath implements WildFlyPackageTask {
         return replaceProperties;
     }
 
+    @Override
+    public PackageTaskFootprint getFootprint(WfInstallPlugin plugin, PackageRuntime pkg) {
+        // the source is in the feature-pack
+        return PackageTaskFootprint.builder().addWrite(target == null ? "" : target).build();
+    }
+
     @Override
     public void execute(WfInstallPlugin plugin, PackageRuntime pkg) throws ProvisioningException {
         plugin.copyPath(relativeToContent ? pkg.getContentDir() : pkg.getResource(WfConstants.PM, WfConstants.WILDFLY), this);
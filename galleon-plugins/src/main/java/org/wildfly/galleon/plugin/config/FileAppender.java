@@ -16,17 +16,21 @@
  */
 package org.wildfly.galleon.plugin.config;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 import org.jboss.galleon.Errors;
 import org.jboss.galleon.ProvisioningException;
 import org.jboss.galleon.runtime.PackageRuntime;
+import org.wildfly.galleon.plugin.PackageTaskFootprint;
 import org.wildfly.galleon.plugin.WfInstallPlugin;
 import org.wildfly.galleon.plugin.WildFlyPackageTask;
 
@@ -37,6 +41,8 @@ import org.wildfly.galleon.plugin.WildFlyPackageTask;
  * If you need to append some content to the matching line you can set it using `add-to-matching-line`.
  * The lines to be added can be provided either via a file or via a list of lines.
  * You can `ignore` the fact that the target file doesn't exist.
+ * Several appenders can be applied together with {@link #append(WfInstallPlugin, List)}, in which case each target
+ * file is read and written once.
  * @author Emmanuel Hugonnet
  */
 public class FileAppender implements WildFlyPackageTask {
@@ -48,6 +54,7 @@ public class FileAppender implements WildFlyPackageTask {
     private boolean allMatches = true;
     private final List<String> lines = new ArrayList<>();
     private String addToMatchingLine = null;
+    private Pattern pattern;
 
     public FileAppender() {
     }
@@ -60,11 +67,15 @@ public class FileAppender implements WildFlyPackageTask {
         if(match == null) {
             return null;
         }
-        return Pattern.compile(match);
+        if (pattern == null) {
+            pattern = Pattern.compile(match);
+        }
+        return pattern;
     }
 
     public void setMatch(String match) {
         this.match = match;
+        this.pattern = null;
     }
 
     public void addLine(String line) {
@@ -95,54 +106,111 @@ public class FileAppender implements WildFlyPackageTask {
         this.allMatches = allMatches;
     }
 
+    @Override
+    public PackageTaskFootprint getFootprint(WfInstallPlugin plugin, PackageRuntime pkg) {
+        final PackageTaskFootprint.Builder builder = PackageTaskFootprint.builder();
+        if (target != null) {
+            builder.addWrite(target);
+        }
+        if (src != null) {
+            builder.addRead(src);
+        }
+        return builder.build();
+    }
+
     @Override
     public void execute(WfInstallPlugin plugin, PackageRuntime pkg) throws ProvisioningException {
-        if(this.target == null) {
-            if(this.isIgnore()) {
-                return;
+        append(plugin, Collections.singletonList(this));
+    }
+
+    /**
+     * Applies the appenders in their order. The appenders are grouped by target file and each target file
+     * is rewritten in a single pass, the lines produced by an appender being the input of the next appender
+     * of the same target.
+     */
+    public static void append(WfInstallPlugin plugin, List<FileAppender> appenders) throws ProvisioningException {
+        append(plugin.getRuntime().getStagedDir(), appenders);
+    }
+
+    static void append(Path stagedDir, List<FileAppender> appenders) throws ProvisioningException {
+        final Map<Path, List<FileAppender>> appendersByTarget = new LinkedHashMap<>();
+        for (FileAppender appender : appenders) {
+            if (appender.target == null) {
+                if (appender.isIgnore()) {
+                    continue;
+                }
+                throw new ProvisioningException("Target can't be null when appending content");
             }
-            throw new ProvisioningException("Target can't be null when appending content");
+            appendersByTarget.computeIfAbsent(stagedDir.resolve(appender.target).normalize(), t -> new ArrayList<>()).add(appender);
         }
-        final Path targetPath = plugin.getRuntime().getStagedDir().resolve(this.target);
+        for (Map.Entry<Path, List<FileAppender>> entry : appendersByTarget.entrySet()) {
+            append(stagedDir, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void append(Path stagedDir, Path targetPath, List<FileAppender> appenders) throws ProvisioningException {
         if (!Files.exists(targetPath)) {
-            if(this.isIgnore()) {
-                return;
+            for (FileAppender appender : appenders) {
+                if (!appender.isIgnore()) {
+                    throw new ProvisioningException(Errors.pathDoesNotExist(targetPath));
+                }
             }
-            throw new ProvisioningException(Errors.pathDoesNotExist(targetPath));
+            return;
         }
         try {
-            if (this.src != null) {
-                final Path srcPath = plugin.getRuntime().getStagedDir().resolve(this.src);
-                if (!Files.exists(srcPath)) {
-                    throw new ProvisioningException(Errors.pathDoesNotExist(srcPath));
+            final List<List<String>> appendedLines = new ArrayList<>(appenders.size());
+            for (FileAppender appender : appenders) {
+                if (appender.src == null) {
+                    appendedLines.add(appender.lines);
+                } else {
+                    final Path srcPath = stagedDir.resolve(appender.src);
+                    if (!Files.exists(srcPath)) {
+                        throw new ProvisioningException(Errors.pathDoesNotExist(srcPath));
+                    }
+                    appendedLines.add(Files.readAllLines(srcPath));
                 }
-                this.lines.clear();
-                this.lines.addAll(Files.readAllLines(srcPath));
             }
-            List<String> fileLines = Files.readAllLines(targetPath);
-            List<String> updatedLines = new ArrayList<>(lines.size() + 3);
-            boolean found = false;
-            for (String line : fileLines) {
-                if ((allMatches || !found) && this.getMatch() != null && this.getMatch().matcher(line).find()) {
-                    if (addToMatchingLine != null && !addToMatchingLine.isEmpty()) {
-                        updatedLines.add(line + addToMatchingLine);
-                    } else {
-                        updatedLines.add(line);
-                    }
-                    for (int i = 0; i < lines.size(); i++) {
-                        updatedLines.add(lines.get(i));
+            final List<String> fileLines = Files.readAllLines(targetPath);
+            try (BufferedWriter writer = Files.newBufferedWriter(targetPath)) {
+                for (String line : fileLines) {
+                    append(appenders, appendedLines, 0, line, writer);
+                }
+                for (int i = 0; i < appenders.size(); ++i) {
+                    if (appenders.get(i).getMatch() == null) {
+                        for (String line : appendedLines.get(i)) {
+                            append(appenders, appendedLines, i + 1, line, writer);
+                        }
                     }
-                } else {
-                    updatedLines.add(line);
                 }
             }
-            if (this.getMatch() == null) {
-                updatedLines.addAll(lines);
-            }
-            Files.write(targetPath, updatedLines, StandardOpenOption.WRITE);
         } catch (IOException e) {
             throw new UncheckedIOException(String.format("Failed to append content to file %s", targetPath), e);
         }
     }
 
+    /**
+     * Passes a line through the appenders starting at the given index and writes the resulting lines.
+     */
+    private static void append(List<FileAppender> appenders, List<List<String>> appendedLines, int index, String line,
+            BufferedWriter writer) throws IOException {
+        if (index == appenders.size()) {
+            writer.write(line);
+            writer.newLine();
+            return;
+        }
+        final FileAppender appender = appenders.get(index);
+        final Pattern pattern = appender.getMatch();
+        if (pattern != null && pattern.matcher(line).find()) {
+            if (appender.addToMatchingLine != null && !appender.addToMatchingLine.isEmpty()) {
+                append(appenders, appendedLines, index + 1, line + appender.addToMatchingLine, writer);
+            } else {
+                append(appenders, appendedLines, index + 1, line, writer);
+            }
+            for (String appended : appendedLines.get(index)) {
+                append(appenders, appendedLines, index + 1, appended, writer);
+            }
+        } else {
+            append(appenders, appendedLines, index + 1, line, writer);
+        }
+    }
 }
@@ -22,6 +22,7 @@ import java.util.Map;
 import org.jboss.galleon.ProvisioningException;
 import org.jboss.galleon.runtime.PackageRuntime;
 import org.jboss.galleon.util.CollectionUtils;
+import org.wildfly.galleon.plugin.PackageTaskFootprint;
 import org.wildfly.galleon.plugin.WfInstallPlugin;
 import org.wildfly.galleon.plugin.WildFlyPackageTask;
 
@@ -94,6 +95,16 @@ public class XslTransform implements WildFlyPackageTask {
         return phase;
     }
 
+    @Override
+    public PackageTaskFootprint getFootprint(WfInstallPlugin plugin, PackageRuntime pkg) {
+        // the source is rewritten with the replaced properties
+        return PackageTaskFootprint.builder()
+                .addRead(stylesheet)
+                .addWrite(src)
+                .addWrite(output)
+                .build();
+    }
+
     @Override
     public void execute(WfInstallPlugin plugin, PackageRuntime pkg) throws ProvisioningException {
         try {
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jboss.galleon.ProvisioningException;
+import org.jboss.galleon.util.IoUtils;
+import org.wildfly.galleon.plugin.WfConstants;
+
+/**
+ * The base directory of an embedded process that is started concurrently with other embedded processes
+ * of the same installation.
+ * <p>
+ * The configuration directory of the standalone server or of the domain is copied to a base directory of its own,
+ * so that the embedded processes don't share their configuration, data, temporary and log directories.
+ * The deployment content of the installation is still used, it is only read by the embedded processes.
+ */
+public final class EmbeddedBaseDir {
+
+    private static final String DATA = "data";
+
+    private EmbeddedBaseDir() {
+    }
+
+    /**
+     * Copies the configuration directory of a config model to a base directory.
+     *
+     * @param home the installation
+     * @param model the config model, standalone, domain or host
+     * @param baseDir the base directory, it must not exist
+     * @return the arguments starting the embedded process with the base directory
+     * @throws ProvisioningException if the configuration directory can't be copied
+     */
+    public static String[] create(Path home, String model, Path baseDir) throws ProvisioningException {
+        final String dirName = WfConstants.STANDALONE.equals(model) ? WfConstants.STANDALONE : WfConstants.DOMAIN;
+        final Path configDir = home.resolve(dirName).resolve(WfConstants.CONFIGURATION);
+        try {
+            Files.createDirectories(baseDir);
+            IoUtils.copy(configDir, baseDir.resolve(WfConstants.CONFIGURATION));
+        } catch (IOException e) {
+            throw new ProvisioningException("Failed to copy " + configDir + " to " + baseDir, e);
+        }
+        final String prefix = "-Djboss." + (WfConstants.STANDALONE.equals(model) ? "server" : WfConstants.DOMAIN);
+        return new String[] {
+            prefix + ".base.dir=" + baseDir.toAbsolutePath(),
+            prefix + ".content.dir=" + home.resolve(dirName).resolve(DATA).resolve(WfConstants.CONTENT).toAbsolutePath()
+        };
+    }
+}
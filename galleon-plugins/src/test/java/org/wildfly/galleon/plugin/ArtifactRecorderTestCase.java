@@ -1,6 +1,7 @@
 package org.wildfly.galleon.plugin;
 
 import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.jboss.galleon.util.HashUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -9,7 +10,15 @@ import org.junit.rules.TemporaryFolder;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -78,6 +87,20 @@ public class ArtifactRecorderTestCase {
                 Files.exists(cacheDir.resolve("test-one-1.0.0.jar")));
     }
 
+    @Test
+    public void cacheArtifactFromCacheDir() throws Exception {
+        final Path cached = createArtifactFile("cache/test-one-1.0.0.jar");
+        final byte[] content = "cached content".getBytes();
+        Files.write(cached, content);
+
+        recorder.cache(mavenArtifact("org.test", "test-one"), cached);
+
+        recorder.writeCacheManifest();
+
+        assertRecordedArtifactContainOnly("org.test:test-one:jar:1.0.0::*::cache/test-one-1.0.0.jar");
+        assertTrue(Arrays.equals(content, Files.readAllBytes(cached)));
+    }
+
     @Test
     public void recordedArtifactOverwritesCachedArtifact() throws Exception {
 
@@ -124,6 +147,98 @@ public class ArtifactRecorderTestCase {
                 Files.exists(cacheDir.resolve("test-one-1.0.0.jar")));
     }
 
+    @Test
+    public void copyArtifactRecordsHashOfCopiedContent() throws Exception {
+        final Path artifactFile = createArtifactFile("test.jar");
+        Files.write(artifactFile, "artifact content".getBytes());
+        final Path target = installBase.resolve("modules").resolve("test-one.jar");
+        Files.createDirectories(target.getParent());
+
+        recorder.copy(mavenArtifact("org.test", "test-one"), artifactFile, target);
+
+        recorder.writeCacheManifest();
+
+        assertRecordedArtifactContainOnly("org.test:test-one:jar:1.0.0::" + HashUtils.hashFile(artifactFile) + "::*modules/test-one.jar");
+        assertEquals("artifact content", Files.readString(target));
+    }
+
+    @Test
+    public void concurrentCacheCopiesOnce() throws Exception {
+        final Path artifactFile = createArtifactFile("test.jar");
+        Files.write(artifactFile, "artifact content".getBytes());
+        final AtomicInteger copies = new AtomicInteger();
+        final Path cachedFile = cacheDir.resolve("test-one-1.0.0.jar");
+
+        runConcurrently(32, i -> {
+            recorder.cache(mavenArtifact("org.test", "test-one"), artifactFile);
+            if (Files.exists(cachedFile)) {
+                copies.incrementAndGet();
+            }
+        });
+
+        recorder.writeCacheManifest();
+
+        assertRecordedArtifactContainOnly("org.test:test-one:jar:1.0.0::" + HashUtils.hashFile(artifactFile) + "::*cache/test-one-1.0.0.jar");
+        // every caller returns once the single copy is complete
+        assertEquals(32, copies.get());
+    }
+
+    @Test
+    public void concurrentRecordKeepsSingleEntryPerArtifact() throws Exception {
+        final int threads = 16;
+        final Path[] targets = new Path[threads];
+        for (int i = 0; i < threads; i++) {
+            targets[i] = createArtifactFile("lib/test-" + i + ".jar");
+        }
+
+        runConcurrently(threads, i -> {
+            for (int j = 0; j < 50; j++) {
+                recorder.cache(mavenArtifact("org.test", "test-one"), targets[i]);
+                recorder.record(mavenArtifact("org.test", "test-one"), targets[i]);
+                recorder.record(mavenArtifact("org.test", "test-" + i), targets[i]);
+            }
+        });
+
+        recorder.writeCacheManifest();
+
+        final List<String> artifactList = Files.readAllLines(cacheDir.resolve(ArtifactRecorder.ARTIFACT_LIST_FILE));
+        assertEquals(1, artifactList.stream().filter(l -> l.startsWith("org.test:test-one:")).count());
+        for (int i = 0; i < threads; i++) {
+            final String prefix = "org.test:test-" + i + ":jar:1.0.0::";
+            assertEquals(1, artifactList.stream().filter(l -> l.startsWith(prefix)).count());
+        }
+        // the last record wins and the stale cached copy is removed
+        assertTrue(artifactList.stream().anyMatch(l -> l.startsWith("org.test:test-one:") && l.contains("::lib/test-")));
+        assertFalse("File expected not to exist, but found " + cacheDir.resolve("test-one-1.0.0.jar"),
+                Files.exists(cacheDir.resolve("test-one-1.0.0.jar")));
+    }
+
+    private interface ConcurrentAction {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(int threads, ConcurrentAction action) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    action.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void assertRecordedArtifactContainOnly(String... lines) throws IOException {
         final List<String> artifactList = Files.readAllLines(cacheDir.resolve(ArtifactRecorder.ARTIFACT_LIST_FILE));
 
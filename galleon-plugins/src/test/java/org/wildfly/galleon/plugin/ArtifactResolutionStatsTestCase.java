@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArtifactResolutionStatsTestCase {
+
+    @Test
+    public void testResolutionTimes() {
+        final ArtifactResolutionStats stats = new ArtifactResolutionStats();
+        Assert.assertEquals(0, stats.getResolutionTimePercentile(50));
+        for (int i = 1; i <= 100; i++) {
+            stats.resolved(TimeUnit.MILLISECONDS.toNanos(i), i % 2 == 0);
+        }
+        Assert.assertEquals(100, stats.getResolutions());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(50), stats.getResolutionTimePercentile(50));
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(99), stats.getResolutionTimePercentile(99));
+        // 100 artifacts resolved in 5.05 seconds
+        Assert.assertEquals(19.8, stats.getResolutionsPerSecond(), 0.01);
+    }
+
+    @Test
+    public void testJson() {
+        final ArtifactResolutionStats stats = new ArtifactResolutionStats();
+        stats.resolved(TimeUnit.MILLISECONDS.toNanos(2), true);
+        stats.bulkResolved(10, TimeUnit.MILLISECONDS.toNanos(100));
+        stats.memoHit();
+        stats.bulkHit();
+        stats.bulkHit();
+        stats.copied(1024);
+        final String json = stats.toJson();
+        Assert.assertTrue(json, json.contains("\"resolved\": 1,"));
+        Assert.assertTrue(json, json.contains("\"channelResolved\": 1,"));
+        Assert.assertTrue(json, json.contains("\"bulkResolved\": 10,"));
+        Assert.assertTrue(json, json.contains("\"resolutionMillisP50\": 2.000,"));
+        Assert.assertTrue(json, json.contains("\"memoizedHits\": 1,"));
+        Assert.assertTrue(json, json.contains("\"bulkHits\": 2,"));
+        Assert.assertTrue(json, json.contains("\"bytesCopied\": 1024\n"));
+    }
+}
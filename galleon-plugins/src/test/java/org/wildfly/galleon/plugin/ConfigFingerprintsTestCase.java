@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigFingerprintsTestCase {
+
+    private static final String CONFIG = "<?xml version='1.0' encoding='UTF-8'?>\n"
+            + "<server xmlns=\"urn:jboss:domain:20.0\">\n"
+            + "    <extensions>\n"
+            + "        <extension module=\"org.jboss.as.logging\"/>\n"
+            + "    </extensions>\n"
+            + "    <interfaces>\n"
+            + "        <interface name=\"public\">\n"
+            + "            <inet-address value=\"127.0.0.1\"/>\n"
+            + "        </interface>\n"
+            + "    </interfaces>\n"
+            + "    <socket-binding-group name=\"standard-sockets\" default-interface=\"public\" port-offset=\"0\"/>\n"
+            + "</server>\n";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testCanonicalFingerprint() throws Exception {
+        final Path config = temp.newFile("standalone.xml").toPath();
+        Files.writeString(config, CONFIG);
+        final String fingerprint = ConfigFingerprints.fingerprint(config);
+
+        final Path reformatted = temp.newFile("reformatted.xml").toPath();
+        Files.writeString(reformatted, "<?xml version=\"1.0\" ?>\n"
+                + "<!-- reformatted by the server -->\n"
+                + "<s:server xmlns:s=\"urn:jboss:domain:20.0\"><s:extensions>\n"
+                + "<s:extension module=\"org.jboss.as.logging\"></s:extension><!-- logging -->\n"
+                + "</s:extensions><s:interfaces><s:interface name=\"public\"><s:inet-address value=\"127.0.0.1\"/>"
+                + "</s:interface></s:interfaces>\n"
+                + "<s:socket-binding-group port-offset=\"0\" default-interface=\"public\" name=\"standard-sockets\"/>\n"
+                + "</s:server>");
+        Assert.assertEquals(fingerprint, ConfigFingerprints.fingerprint(reformatted));
+
+        final Path modified = temp.newFile("modified.xml").toPath();
+        Files.writeString(modified, CONFIG.replace("port-offset=\"0\"", "port-offset=\"100\""));
+        Assert.assertNotEquals(fingerprint, ConfigFingerprints.fingerprint(modified));
+    }
+
+    @Test
+    public void testRecordAndMatch() throws Exception {
+        final Path installation = temp.newFolder("wildfly").toPath();
+        final Path configDir = installation.resolve(WfConstants.STANDALONE).resolve(WfConstants.CONFIGURATION);
+        Files.createDirectories(configDir);
+        final Path config = configDir.resolve("standalone.xml");
+        Files.writeString(config, CONFIG);
+        Files.writeString(configDir.resolve("logging.properties"), "logger.level=INFO");
+
+        Assert.assertNull(ConfigFingerprints.load(installation));
+        ConfigFingerprints.record(installation).store(installation);
+        final ConfigFingerprints fingerprints = ConfigFingerprints.load(installation);
+        Assert.assertTrue(fingerprints.matches("standalone/configuration/standalone.xml", config));
+
+        Files.writeString(config, CONFIG.replace("    ", "\t").replace("<extensions>", "<!-- edited --><extensions>"));
+        Assert.assertTrue(fingerprints.matches("standalone/configuration/standalone.xml", config));
+        Files.writeString(config, CONFIG.replace("127.0.0.1", "0.0.0.0"));
+        Assert.assertFalse(fingerprints.matches("standalone/configuration/standalone.xml", config));
+        Files.writeString(config, "<server");
+        Assert.assertFalse(fingerprints.matches("standalone/configuration/standalone.xml", config));
+        Assert.assertFalse(fingerprints.matches("standalone/configuration/standalone-full.xml", config));
+    }
+
+    @Test
+    public void testUnparsableConfigIsNotRecorded() throws Exception {
+        final Path installation = temp.newFolder("wildfly").toPath();
+        final Path configDir = installation.resolve(WfConstants.STANDALONE).resolve(WfConstants.CONFIGURATION);
+        Files.createDirectories(configDir);
+        final Path config = configDir.resolve("standalone.xml");
+        Files.writeString(config, CONFIG);
+        final Path broken = configDir.resolve("standalone-broken.xml");
+        Files.writeString(broken, "<server");
+
+        ConfigFingerprints.record(installation).store(installation);
+        final ConfigFingerprints fingerprints = ConfigFingerprints.load(installation);
+        Assert.assertTrue(fingerprints.matches("standalone/configuration/standalone.xml", config));
+        Assert.assertFalse(fingerprints.matches("standalone/configuration/standalone-broken.xml", broken));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.galleon.Constants;
+import org.jboss.galleon.spec.FeatureParameterSpec;
+import org.jboss.galleon.spec.FeatureSpec;
+import org.jboss.galleon.xml.FeatureSpecXmlWriter;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FeatureSpecIndexTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testBuildAndLoad() throws Exception {
+        final Path features = temp.newFolder("features").toPath();
+        final FeatureSpec subsystem = FeatureSpec.builder("subsystem.test")
+                .addParam(FeatureParameterSpec.createId("subsystem"))
+                .addParam(FeatureParameterSpec.create("attr", true))
+                .build();
+        final FeatureSpec resource = FeatureSpec.builder("subsystem.test.resource")
+                .addParam(FeatureParameterSpec.builder("subsystem").setFeatureId().setDefaultValue("test").build())
+                .addParam(FeatureParameterSpec.builder("resource").setFeatureId().setType("String")
+                        .setStability("preview").build())
+                .build();
+        final FeatureSpec noIds = FeatureSpec.builder("no-ids").addParam(FeatureParameterSpec.create("attr")).build();
+        for (FeatureSpec spec : Arrays.asList(subsystem, resource, noIds)) {
+            Files.createDirectories(features.resolve(spec.getName()));
+            FeatureSpecXmlWriter.getInstance().write(spec, features.resolve(spec.getName()).resolve(Constants.SPEC_XML));
+        }
+        Files.createDirectories(features.resolve("no-spec"));
+
+        final Path indexFile = temp.getRoot().toPath().resolve("index").resolve("test.idx");
+        Assert.assertNull(FeatureSpecIndex.load(indexFile));
+        FeatureSpecIndex.build(features, indexFile);
+        final FeatureSpecIndex index = FeatureSpecIndex.load(indexFile);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("subsystem.test", "subsystem.test.resource", "no-ids")), index.getSpecNames());
+        Assert.assertEquals(subsystem.getIdParams(), index.getIdParams("subsystem.test"));
+        Assert.assertEquals(resource.getIdParams(), index.getIdParams("subsystem.test.resource"));
+        Assert.assertSame(index.getIdParams("subsystem.test.resource"), index.getIdParams("subsystem.test.resource"));
+        Assert.assertTrue(index.getIdParams("no-ids").isEmpty());
+        Assert.assertNull(index.getIdParams("no-spec"));
+        try (Stream<Path> files = Files.list(indexFile.getParent())) {
+            Assert.assertEquals(Arrays.asList(indexFile), files.collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import org.jboss.galleon.util.HashUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileCopierTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testCopySmallFile() throws Exception {
+        final byte[] content = content(100);
+        final Path src = write("small.jar", content);
+        final Path target = temp.getRoot().toPath().resolve("small-copy.jar");
+        Files.writeString(target, "previous content");
+        Assert.assertEquals(content.length, FileCopier.copy(src, target));
+        Assert.assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testCopyLargeFile() throws Exception {
+        final byte[] content = content(FileCopier.TRANSFER_THRESHOLD * 3 + 17);
+        final Path src = write("large.jar", content);
+        final Path target = temp.getRoot().toPath().resolve("large-copy.jar");
+        Files.writeString(target, "previous content");
+        Assert.assertEquals(content.length, FileCopier.copy(src, target));
+        Assert.assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testCopyAndDigest() throws Exception {
+        final byte[] content = content(FileCopier.TRANSFER_THRESHOLD * 2 + 5);
+        final Path src = write("digested.jar", content);
+        final Path target = temp.getRoot().toPath().resolve("digested-copy.jar");
+        final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        Assert.assertEquals(content.length, FileCopier.copy(src, target, digest));
+        Assert.assertArrayEquals(content, Files.readAllBytes(target));
+        Assert.assertEquals(HashUtils.hashFile(src), HashUtils.bytesToHexString(digest.digest()));
+        Assert.assertEquals(HashUtils.hashFile(src), FileCopier.hash(src));
+    }
+
+    @Test
+    public void testLinkedTargetIsReplaced() throws Exception {
+        final byte[] content = content(FileCopier.TRANSFER_THRESHOLD + 1);
+        final Path src = write("linked.jar", content);
+        final Path other = write("other.jar", "other content".getBytes());
+        final Path target = temp.getRoot().toPath().resolve("linked-copy.jar");
+        try {
+            Files.createLink(target, other);
+        } catch (UnsupportedOperationException e) {
+            return;
+        }
+        FileCopier.copy(src, target);
+        Assert.assertArrayEquals(content, Files.readAllBytes(target));
+        Assert.assertEquals("other content", Files.readString(other));
+    }
+
+    @Test
+    public void testCopyToSameFile() throws Exception {
+        final byte[] content = content(FileCopier.TRANSFER_THRESHOLD + 3);
+        final Path src = write("same.jar", content);
+        Assert.assertEquals(content.length, FileCopier.copy(src, src));
+        Assert.assertArrayEquals(content, Files.readAllBytes(src));
+
+        final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        Assert.assertEquals(content.length, FileCopier.copy(src, src.getParent().resolve(".").resolve("same.jar"), digest));
+        Assert.assertArrayEquals(content, Files.readAllBytes(src));
+        Assert.assertEquals(HashUtils.hashFile(src), HashUtils.bytesToHexString(digest.digest()));
+
+        final byte[] small = content(10);
+        final Path smallSrc = write("same-small.jar", small);
+        Assert.assertEquals(small.length, FileCopier.copy(smallSrc, smallSrc));
+        Assert.assertArrayEquals(small, Files.readAllBytes(smallSrc));
+    }
+
+    private Path write(String name, byte[] content) throws Exception {
+        final Path file = temp.getRoot().toPath().resolve(name);
+        Files.write(file, content);
+        return file;
+    }
+
+    private static byte[] content(int size) {
+        final byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.galleon.universe.FeaturePackLocation;
+import org.jboss.galleon.universe.FeaturePackLocation.FPID;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModuleFingerprintsTestCase {
+
+    private static final FPID FPID = FeaturePackLocation.fromString("org.test:test-fp:1.0.0.Final").getFPID();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+    private Path moduleDir;
+    private Map<String, String> versionProps;
+
+    @Before
+    public void setUp() throws Exception {
+        moduleDir = temp.newFolder("module").toPath();
+        final Path moduleXml = moduleDir.resolve("org").resolve("test").resolve("main").resolve("module.xml");
+        Files.createDirectories(moduleXml.getParent());
+        Files.writeString(moduleXml, "<module name=\"org.test\" xmlns=\"urn:jboss:module:1.9\">\n"
+                + "  <resources>\n"
+                + "    <artifact name=\"${org.test:test-one}\"/>\n"
+                + "    <artifact name=\"${org.test:test-two?jandex}\"/>\n"
+                + "  </resources>\n"
+                + "</module>\n");
+        versionProps = new HashMap<>();
+        versionProps.put("org.test:test-one", "org.test:test-one:1.0.0::jar");
+        versionProps.put("org.test:test-two", "org.test:test-two:1.0.0::jar");
+        versionProps.put("org.test:test-three", "org.test:test-three:1.0.0::jar");
+    }
+
+    @Test
+    public void testReferencedVersionChangesFingerprint() throws Exception {
+        final String fingerprint = ModuleFingerprints.fingerprint(FPID, "org.test", moduleDir, versionProps);
+        Assert.assertEquals(fingerprint, ModuleFingerprints.fingerprint(FPID, "org.test", moduleDir, versionProps));
+
+        versionProps.put("org.test:test-three", "org.test:test-three:2.0.0::jar");
+        Assert.assertEquals(fingerprint, ModuleFingerprints.fingerprint(FPID, "org.test", moduleDir, versionProps));
+
+        versionProps.put("org.test:test-two", "org.test:test-two:2.0.0::jar");
+        Assert.assertNotEquals(fingerprint, ModuleFingerprints.fingerprint(FPID, "org.test", moduleDir, versionProps));
+    }
+
+    @Test
+    public void testContentChangesFingerprint() throws Exception {
+        final String fingerprint = ModuleFingerprints.fingerprint(FPID, "org.test", moduleDir, versionProps);
+        Assert.assertNotEquals(fingerprint, ModuleFingerprints.fingerprint(FPID, "org.other", moduleDir, versionProps));
+        Files.writeString(moduleDir.resolve("org").resolve("test").resolve("main").resolve("README.txt"), "readme");
+        Assert.assertNotEquals(fingerprint, ModuleFingerprints.fingerprint(FPID, "org.test", moduleDir, versionProps));
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        final Path installation = temp.newFolder("server").toPath();
+        Assert.assertNull(ModuleFingerprints.load(installation));
+
+        final Path moduleXml = Paths.get("modules", "system", "layers", "base", "org", "test", "main", "module.xml");
+        final ModuleFingerprints fingerprints = new ModuleFingerprints();
+        fingerprints.put(moduleXml, "abcdef");
+        fingerprints.store(installation);
+
+        final Path jar = installation.resolve("test-one-1.0.0.jar");
+        Files.writeString(jar, "content");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(0));
+        final ModuleFingerprints loaded = ModuleFingerprints.load(installation);
+        Assert.assertEquals("abcdef", loaded.get(moduleXml));
+        Assert.assertNull(loaded.get(Paths.get("modules", "other", "module.xml")));
+        Assert.assertFalse(loaded.isModified(jar));
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        Assert.assertTrue(loaded.isModified(jar));
+    }
+}
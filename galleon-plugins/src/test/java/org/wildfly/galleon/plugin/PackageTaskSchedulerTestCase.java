@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.galleon.ProvisioningException;
+import org.jboss.galleon.runtime.PackageRuntime;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PackageTaskSchedulerTestCase {
+
+    private static class TestTask implements WildFlyPackageTask {
+
+        private final String name;
+        private final PackageTaskFootprint footprint;
+        private final List<String> executed;
+        private final CountDownLatch latch;
+
+        TestTask(String name, PackageTaskFootprint footprint, List<String> executed, CountDownLatch latch) {
+            this.name = name;
+            this.footprint = footprint;
+            this.executed = executed;
+            this.latch = latch;
+        }
+
+        @Override
+        public PackageTaskFootprint getFootprint(WfInstallPlugin plugin, PackageRuntime pkg) {
+            return footprint;
+        }
+
+        @Override
+        public void execute(WfInstallPlugin plugin, PackageRuntime pkg) throws ProvisioningException {
+            if (latch != null) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new ProvisioningException(e);
+                }
+            }
+            if ("failing".equals(name)) {
+                throw new ProvisioningException(name);
+            }
+            executed.add(name);
+        }
+    }
+
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private PackageTaskScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new PackageTaskScheduler(null, Paths.get("server").toAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void testOverlappingTasksKeepOrder() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(new TestTask("first", writes("bin"), executed, latch), null);
+        scheduler.schedule(new TestTask("second", writes("bin/client/jboss-client.jar"), executed, null), null);
+        latch.countDown();
+        scheduler.awaitAll();
+        Assert.assertEquals(List.of("first", "second"), executed);
+    }
+
+    @Test
+    public void testIndependentTasksRunConcurrently() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(new TestTask("blocked", writes("bin"), executed, latch), null);
+        scheduler.schedule(new TestTask("independent", writes("docs/licenses"), executed, null), null);
+        scheduler.await(writes("docs"));
+        Assert.assertEquals(List.of("independent"), executed);
+        latch.countDown();
+        scheduler.awaitAll();
+        Assert.assertEquals(List.of("independent", "blocked"), executed);
+    }
+
+    @Test
+    public void testUnknownFootprintWaitsForAll() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(new TestTask("first", writes("bin"), executed, latch), null);
+        latch.countDown();
+        scheduler.schedule(new TestTask("unknown", null, executed, null), null);
+        Assert.assertEquals(List.of("first", "unknown"), executed);
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        scheduler.schedule(new TestTask("failing", writes("bin"), executed, null), null);
+        scheduler.schedule(new TestTask("dependent", writes("bin"), executed, null), null);
+        try {
+            scheduler.awaitAll();
+            Assert.fail("Failure expected");
+        } catch (ProvisioningException e) {
+            Assert.assertEquals("failing", e.getMessage());
+        }
+        Assert.assertTrue(executed.isEmpty());
+    }
+
+    private static PackageTaskFootprint writes(String path) {
+        return PackageTaskFootprint.builder().addWrite(path).build();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertyReplacerTestCase {
+
+    private static final Map<String, String> PROPS = new HashMap<>();
+
+    static {
+        PROPS.put("a", "A");
+        PROPS.put("b", "B");
+        PROPS.put("dflt", "resolved-default");
+    }
+
+    @Test
+    public void testLiterals() throws Exception {
+        Assert.assertEquals("", replace("", null));
+        Assert.assertEquals("no expression here", replace("no expression here", null));
+        Assert.assertEquals("$", replace("$", null));
+        Assert.assertEquals("$x", replace("$x", null));
+        Assert.assertEquals("$", replace("$$", null));
+        Assert.assertEquals("${a}", replace("$${a}", null));
+    }
+
+    @Test
+    public void testResolution() throws Exception {
+        Assert.assertEquals("A", replace("${a}", null));
+        Assert.assertEquals("xAyBz", replace("x${a}y${b}z", null));
+        Assert.assertEquals("a" + File.separatorChar + "b", replace("a${/}b", null));
+        Assert.assertEquals("NI", replace("${unknown}", "NI"));
+        try {
+            replace("${unknown}", null);
+            Assert.fail("Unresolved property expected to fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            replace("${a", null);
+            Assert.fail("Incomplete expression expected to fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDefault() throws Exception {
+        Assert.assertEquals("A", replace("${a,other}", null));
+        Assert.assertEquals("other", replace("${unknown,other}", null));
+        Assert.assertEquals("resolved-default", replace("${unknown,dflt}", null));
+        Assert.assertEquals("other-B", replace("${unknown,other}-${b}", null));
+        Assert.assertEquals("other", replace("${unknown,other", null));
+    }
+
+    @Test
+    public void testBlockBoundaries() throws Exception {
+        final StringBuilder input = new StringBuilder();
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            input.append("line ").append(i).append(" ${a} $$ ${unknown,x} ${b,y}\n");
+            expected.append("line ").append(i).append(" A $ x B\n");
+        }
+        Assert.assertEquals(expected.toString(), replace(input.toString(), null));
+    }
+
+    private static String replace(String input, String failureReplacement) throws IOException {
+        final StringWriter writer = new StringWriter();
+        PropertyReplacer.copy(new StringReader(input), writer, new MapPropertyResolver(PROPS), failureReplacement);
+        return writer.toString();
+    }
+}
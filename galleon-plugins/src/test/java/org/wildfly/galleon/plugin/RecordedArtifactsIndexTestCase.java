@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RecordedArtifactsIndexTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+    private Path installation;
+    private Path artifactList;
+    private Path moduleJar;
+
+    @Before
+    public void setUp() throws Exception {
+        installation = temp.newFolder("server-root").toPath();
+        final Path cacheDir = installation.resolve(".installation").resolve(".cache");
+        final ArtifactRecorder recorder = new ArtifactRecorder(installation, cacheDir);
+        moduleJar = installation.resolve("modules").resolve("test-one-1.0.0.jar");
+        Files.createDirectories(moduleJar.getParent());
+        Files.writeString(moduleJar, "module content");
+        recorder.record(mavenArtifact("test-one"), moduleJar);
+        final Path copiedJar = temp.newFile("test-two-1.0.0.jar").toPath();
+        Files.writeString(copiedJar, "copied content");
+        recorder.cache(mavenArtifact("test-two"), copiedJar);
+        recorder.writeCacheManifest();
+        artifactList = cacheDir.resolve(ArtifactRecorder.ARTIFACT_LIST_FILE);
+    }
+
+    @Test
+    public void testFindRecordedArtifacts() throws Exception {
+        final RecordedArtifactsIndex index = RecordedArtifactsIndex.load(installation, artifactList, false);
+        Assert.assertEquals(moduleJar, index.find(mavenArtifact("test-one")));
+        Assert.assertEquals(installation.resolve(".installation").resolve(".cache").resolve("test-two-1.0.0.jar"),
+                index.find(mavenArtifact("test-two")));
+        Assert.assertNull(index.find(mavenArtifact("test-three")));
+    }
+
+    @Test
+    public void testModifiedArtifactIsNotUsed() throws Exception {
+        final RecordedArtifactsIndex index = RecordedArtifactsIndex.load(installation, artifactList, false);
+        Files.writeString(moduleJar, "modified content");
+        Assert.assertNull(index.find(mavenArtifact("test-one")));
+        Files.delete(moduleJar);
+        Assert.assertNull(index.find(mavenArtifact("test-one")));
+    }
+
+    @Test
+    public void testFastCheck() throws Exception {
+        final RecordedArtifactsIndex index = RecordedArtifactsIndex.load(installation, artifactList, true);
+        Assert.assertEquals(moduleJar, index.find(mavenArtifact("test-one")));
+
+        final RecordedArtifactsIndex newIndex = RecordedArtifactsIndex.load(installation, artifactList, true);
+        Files.setLastModifiedTime(moduleJar, FileTime.fromMillis(Files.getLastModifiedTime(artifactList).toMillis() + 10000));
+        Assert.assertNull(newIndex.find(mavenArtifact("test-one")));
+    }
+
+    @Test
+    public void testNoArtifactList() throws Exception {
+        Assert.assertNull(RecordedArtifactsIndex.load(installation, installation.resolve("missing.txt"), false));
+    }
+
+    private static MavenArtifact mavenArtifact(String artifactId) {
+        final MavenArtifact artifact = new MavenArtifact();
+        artifact.setGroupId("org.test");
+        artifact.setArtifactId(artifactId);
+        artifact.setVersion("1.0.0");
+        return artifact;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.Map;
+
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResolvedVersionsTestCase {
+
+    private static final String LICENSES = "<licenseSummary>\n"
+            + "  <dependency>\n"
+            + "    <groupId>org.test</groupId>\n"
+            + "    <artifactId>test</artifactId>\n"
+            + "    <version>${version.org.test.test}</version>\n"
+            + "  </dependency>\n"
+            + "</licenseSummary>\n";
+
+    @Test
+    public void testReusedModuleLicenses() throws Exception {
+        // a full install resolves the artifact of the module
+        final MavenArtifact resolved = new MavenArtifact().setGroupId("org.test").setArtifactId("test")
+                .setExtension(MavenArtifact.EXT_JAR).setVersion("1.0.0.Final");
+        final ResolvedVersions full = new ResolvedVersions();
+        full.add(resolved);
+
+        // a reused module has the version of its artifact from the feature-pack artifact versions
+        final Map<String, String> versionProps = Collections.singletonMap("org.test:test", "org.test:test:1.0.0.Final::jar");
+        final MavenArtifact reused = Utils.toArtifactCoords(versionProps, "org.test:test", false, false, false);
+        final ResolvedVersions incremental = new ResolvedVersions();
+        incremental.add(reused);
+
+        final String fullLicenses = replace(full);
+        Assert.assertTrue(fullLicenses, fullLicenses.contains("<version>1.0.0.Final</version>"));
+        Assert.assertEquals(fullLicenses, replace(incremental));
+        Assert.assertTrue(replace(new ResolvedVersions()).contains("<version>" + ResolvedVersions.NOT_INSTALLED + "</version>"));
+    }
+
+    private static String replace(ResolvedVersions versions) throws Exception {
+        final StringWriter writer = new StringWriter();
+        versions.replace(new StringReader(LICENSES), writer);
+        return writer.toString();
+    }
+}
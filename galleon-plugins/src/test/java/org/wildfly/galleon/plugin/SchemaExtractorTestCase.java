@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.galleon.ProvisioningException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SchemaExtractorTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testExtractSchemaEntries() throws Exception {
+        final Path schemasDir = temp.newFolder("server").toPath().resolve("docs").resolve("schema");
+        final Path first = jar("first.jar", "schema/first.xsd", "first", "schema/nested/nested.xsd", "nested",
+                "META-INF/MANIFEST.MF", "manifest");
+        final Path second = jar("second.jar", "schema/first.xsd", "overridden", "org/Foo.class", "class");
+        final Path none = jar("none.jar", "org/Bar.class", "class");
+
+        final SchemaExtractor extractor = new SchemaExtractor(schemasDir);
+        try {
+            extractor.submit(first);
+            extractor.submit(none);
+            extractor.submit(second);
+            extractor.awaitCompletion();
+        } finally {
+            extractor.close();
+        }
+        Assert.assertEquals("overridden", Files.readString(schemasDir.resolve("first.xsd")));
+        Assert.assertEquals("nested", Files.readString(schemasDir.resolve("nested").resolve("nested.xsd")));
+        try (Stream<Path> files = Files.list(schemasDir)) {
+            Assert.assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testInvalidArchive() throws Exception {
+        final Path schemasDir = temp.newFolder("server").toPath().resolve("docs").resolve("schema");
+        final Path invalid = temp.newFile("invalid.jar").toPath();
+        Files.writeString(invalid, "not a zip");
+        final SchemaExtractor extractor = new SchemaExtractor(schemasDir);
+        try {
+            extractor.submit(invalid);
+            extractor.awaitCompletion();
+            Assert.fail("Failure expected");
+        } catch (ProvisioningException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("invalid.jar"));
+        } finally {
+            extractor.close();
+        }
+    }
+
+    private Path jar(String name, String... entries) throws Exception {
+        final Path jar = temp.getRoot().toPath().resolve(name);
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
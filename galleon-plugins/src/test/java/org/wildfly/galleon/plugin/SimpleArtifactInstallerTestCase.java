@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.jboss.galleon.DefaultMessageWriter;
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SimpleArtifactInstallerTestCase {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private Path localRepo;
+    private Path generatedRepo;
+    private final List<String> resolvedPoms = new ArrayList<>();
+    private final ArtifactResolutionStats stats = new ArtifactResolutionStats();
+
+    @Before
+    public void setUp() throws Exception {
+        localRepo = tmp.newFolder("local").toPath();
+        generatedRepo = tmp.newFolder("generated").toPath();
+    }
+
+    @Test
+    public void testArtifactInstalledOnce() throws Exception {
+        final SimpleArtifactInstaller installer = new SimpleArtifactInstaller(this::resolve, generatedRepo, false, Optional.empty(), stats, new DefaultMessageWriter());
+        final MavenArtifact artifact = artifact("");
+        final MavenArtifact classified = artifact("client");
+
+        installer.installCopiedArtifact(artifact);
+        installer.installArtifactThin(artifact);
+        installer.installCopiedArtifact(classified);
+
+        final Path versionDir = generatedRepo.resolve("org").resolve("test").resolve("test-one").resolve("1.0.0");
+        Assert.assertTrue(Files.exists(versionDir.resolve("test-one-1.0.0.jar")));
+        Assert.assertTrue(Files.exists(versionDir.resolve("test-one-1.0.0-client.jar")));
+        Assert.assertTrue(Files.exists(versionDir.resolve("test-one-1.0.0.pom")));
+        Assert.assertEquals(1, resolvedPoms.size());
+        Assert.assertTrue(stats.toJson().contains("\"filesCopied\": 3,"));
+
+        // a file installed from the same source is not copied again
+        Files.delete(versionDir.resolve("test-one-1.0.0.jar"));
+        installer.installArtifactThin(artifact);
+        Assert.assertFalse(Files.exists(versionDir.resolve("test-one-1.0.0.jar")));
+    }
+
+    @Test
+    public void testHardLinks() throws Exception {
+        final SimpleArtifactInstaller installer = new SimpleArtifactInstaller(this::resolve, generatedRepo, true, Optional.empty(), stats, new DefaultMessageWriter());
+        final MavenArtifact artifact = artifact("");
+
+        installer.installCopiedArtifact(artifact);
+
+        final Path installed = generatedRepo.resolve("org").resolve("test").resolve("test-one").resolve("1.0.0").resolve("test-one-1.0.0.jar");
+        Assert.assertEquals("content of test-one-1.0.0.jar", Files.readString(installed));
+        Assert.assertTrue(Files.isSameFile(artifact.getPath(), installed));
+    }
+
+    private MavenArtifact artifact(String classifier) throws Exception {
+        final MavenArtifact artifact = new MavenArtifact();
+        artifact.setGroupId("org.test");
+        artifact.setArtifactId("test-one");
+        artifact.setVersion("1.0.0");
+        artifact.setClassifier(classifier);
+        artifact.setExtension("jar");
+        resolve(artifact);
+        return artifact;
+    }
+
+    private void resolve(MavenArtifact artifact) {
+        try {
+            final Path file = localRepo.resolve(artifact.getArtifactFileName());
+            if (!Files.exists(file)) {
+                Files.writeString(file, "content of " + artifact.getArtifactFileName());
+            }
+            if ("pom".equals(artifact.getExtension())) {
+                resolvedPoms.add(artifact.getCoordsAsString());
+            }
+            artifact.setPath(file);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
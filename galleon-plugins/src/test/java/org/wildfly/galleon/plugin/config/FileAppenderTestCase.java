@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.galleon.ProvisioningException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileAppenderTestCase {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testAppendersAreAppliedInOrder() throws Exception {
+        final Path stagedDir = tmp.newFolder().toPath();
+        final Path conf = stagedDir.resolve("standalone.conf");
+        Files.write(conf, Arrays.asList("# header", "JAVA_OPTS=-Xms64m", "# footer"));
+        Files.write(stagedDir.resolve("extra.txt"), Arrays.asList("extra"));
+
+        final FileAppender first = appender("standalone.conf", "^JAVA_OPTS", "first");
+        first.setAddToMatchingLine(" -Xmx512m");
+        final FileAppender second = appender("standalone.conf", "first", "second");
+        final FileAppender third = appender("standalone.conf", null, "third");
+        final FileAppender fourth = appender("standalone.conf", "third", "fourth");
+        final FileAppender fromSrc = appender("standalone.conf", "header", null);
+        fromSrc.setSource("extra.txt");
+
+        FileAppender.append(stagedDir, Arrays.asList(first, second, third, fourth, fromSrc));
+        final List<String> expected = Arrays.asList("# header", "extra", "JAVA_OPTS=-Xms64m -Xmx512m", "first", "second",
+                "# footer", "third", "fourth");
+        Assert.assertEquals(expected, Files.readAllLines(conf));
+
+        // one appender at a time gives the same result
+        Files.write(conf, Arrays.asList("# header", "JAVA_OPTS=-Xms64m", "# footer"));
+        for (FileAppender appender : Arrays.asList(first, second, third, fourth, fromSrc)) {
+            FileAppender.append(stagedDir, Collections.singletonList(appender));
+        }
+        Assert.assertEquals(expected, Files.readAllLines(conf));
+    }
+
+    @Test
+    public void testSeveralTargets() throws Exception {
+        final Path stagedDir = tmp.newFolder().toPath();
+        Files.write(stagedDir.resolve("a.conf"), Arrays.asList("a"));
+        Files.write(stagedDir.resolve("b.conf"), Arrays.asList("b"));
+        FileAppender.append(stagedDir, Arrays.asList(appender("a.conf", null, "a1"), appender("b.conf", null, "b1"),
+                appender("./a.conf", null, "a2")));
+        Assert.assertEquals(Arrays.asList("a", "a1", "a2"), Files.readAllLines(stagedDir.resolve("a.conf")));
+        Assert.assertEquals(Arrays.asList("b", "b1"), Files.readAllLines(stagedDir.resolve("b.conf")));
+    }
+
+    @Test
+    public void testMissingTarget() throws Exception {
+        final Path stagedDir = tmp.newFolder().toPath();
+        FileAppender.append(stagedDir, Collections.singletonList(appender("missing.conf", null, "line")));
+        Assert.assertFalse(Files.exists(stagedDir.resolve("missing.conf")));
+        final FileAppender appender = appender("missing.conf", null, "line");
+        appender.setIgnore(false);
+        try {
+            FileAppender.append(stagedDir, Collections.singletonList(appender));
+            Assert.fail("Missing target expected to fail");
+        } catch (ProvisioningException e) {
+            // expected
+        }
+    }
+
+    private static FileAppender appender(String target, String match, String line) {
+        final FileAppender appender = new FileAppender();
+        appender.setTarget(target);
+        appender.setMatch(match);
+        if (line != null) {
+            appender.addLine(line);
+        }
+        return appender;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.plugin.server;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wildfly.galleon.plugin.WfConstants;
+
+public class EmbeddedBaseDirTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testBaseDirPerConfig() throws Exception {
+        final Path home = temp.newFolder("wildfly").toPath();
+        final Path standaloneConfigs = home.resolve(WfConstants.STANDALONE).resolve(WfConstants.CONFIGURATION);
+        Files.createDirectories(standaloneConfigs);
+        Files.writeString(standaloneConfigs.resolve("standalone.xml"), "<server/>");
+        Files.writeString(standaloneConfigs.resolve("standalone-full.xml"), "<server name=\"full\"/>");
+        final Path domainConfigs = home.resolve(WfConstants.DOMAIN).resolve(WfConstants.CONFIGURATION);
+        Files.createDirectories(domainConfigs);
+        Files.writeString(domainConfigs.resolve("domain.xml"), "<domain/>");
+        Files.writeString(domainConfigs.resolve("host.xml"), "<host/>");
+
+        final Path work = temp.newFolder("work").toPath();
+        final Path standaloneBase = work.resolve("0").resolve(WfConstants.STANDALONE);
+        final Path fullBase = work.resolve("1").resolve(WfConstants.STANDALONE);
+        final Path domainBase = work.resolve("2").resolve(WfConstants.DOMAIN);
+        final String[] standaloneArgs = EmbeddedBaseDir.create(home, WfConstants.STANDALONE, standaloneBase);
+        final String[] fullArgs = EmbeddedBaseDir.create(home, WfConstants.STANDALONE, fullBase);
+        final String[] domainArgs = EmbeddedBaseDir.create(home, WfConstants.DOMAIN, domainBase);
+
+        Assert.assertEquals(Arrays.asList(
+                "-Djboss.server.base.dir=" + standaloneBase.toAbsolutePath(),
+                "-Djboss.server.content.dir=" + home.resolve("standalone/data/content").toAbsolutePath()),
+                Arrays.asList(standaloneArgs));
+        Assert.assertEquals("-Djboss.server.base.dir=" + fullBase.toAbsolutePath(), fullArgs[0]);
+        Assert.assertEquals(standaloneArgs[1], fullArgs[1]);
+        Assert.assertEquals(Arrays.asList(
+                "-Djboss.domain.base.dir=" + domainBase.toAbsolutePath(),
+                "-Djboss.domain.content.dir=" + home.resolve("domain/data/content").toAbsolutePath()),
+                Arrays.asList(domainArgs));
+
+        for (Path base : new Path[] {standaloneBase, fullBase}) {
+            Assert.assertEquals("<server name=\"full\"/>",
+                    Files.readString(base.resolve(WfConstants.CONFIGURATION).resolve("standalone-full.xml")));
+        }
+        Assert.assertEquals("<host/>", Files.readString(domainBase.resolve(WfConstants.CONFIGURATION).resolve("host.xml")));
+
+        // a config persisted by one embedded process is not seen by the others nor by the installation
+        Files.writeString(standaloneBase.resolve(WfConstants.CONFIGURATION).resolve("standalone.xml"), "<server name=\"changed\"/>");
+        Assert.assertEquals("<server/>", Files.readString(fullBase.resolve(WfConstants.CONFIGURATION).resolve("standalone.xml")));
+        Assert.assertEquals("<server/>", Files.readString(standaloneConfigs.resolve("standalone.xml")));
+    }
+}
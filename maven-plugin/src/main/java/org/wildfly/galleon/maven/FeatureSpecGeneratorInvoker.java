@@ -70,11 +70,13 @@ import org.jboss.galleon.layout.ProvisioningLayout;
 import org.jboss.galleon.layout.ProvisioningLayoutFactory;
 import org.jboss.galleon.maven.plugin.util.MavenArtifactRepositoryManager;
 import org.jboss.galleon.universe.FeaturePackLocation;
+import org.jboss.galleon.universe.FeaturePackLocation.FPID;
 import org.jboss.galleon.universe.UniverseFactoryLoader;
 import org.jboss.galleon.universe.UniverseResolver;
 import org.jboss.galleon.util.CollectionUtils;
 import org.jboss.galleon.util.IoUtils;
 import org.wildfly.galleon.plugin.ArtifactCoords;
+import org.wildfly.galleon.plugin.FeatureSpecIndex;
 import org.wildfly.galleon.plugin.Utils;
 import org.wildfly.galleon.plugin.WfConstants;
 import org.wildfly.galleon.plugin.WildFlyPackageTask;
@@ -112,13 +114,18 @@ public class FeatureSpecGeneratorInvoker {
 
     private final File featureSpecsOutput;
     private final boolean forkEmbedded;
+    private final boolean forkEmbeddedParallel;
+    private final FeatureSpecsCache featureSpecsCache;
     private final Path wildflyHome;
+    private final WildFlyHomeLinker wildflyHomeLinker;
     private final Path moduleTemplatesDir;
 
     private final Map<String, Artifact> mergedArtifacts = new HashMap<>();
     private final Map<String, Map<String, Artifact>> moduleTemplates = new HashMap<>();
 
     private Map<String, Path> inheritedFeatureSpecs = Collections.emptyMap();
+    private Map<String, Path> inheritedFeatureSpecIndexes = Collections.emptyMap();
+    private final Path featureSpecIndexesDir;
     private Set<String> standaloneExtensions = Collections.emptySet();
     private Set<String> domainExtensions = Collections.emptySet();
     private Set<String> hostExtensions = Collections.emptySet();
@@ -139,8 +146,12 @@ public class FeatureSpecGeneratorInvoker {
         this.buildConfig = mojo.getBuildConfig();
         this.featureSpecsOutput = mojo.featureSpecsOutput;
         this.forkEmbedded = mojo.forkEmbedded;
+        this.forkEmbeddedParallel = mojo.forkEmbeddedParallel;
+        this.featureSpecsCache = mojo.incrementalFeatureSpecs ? new FeatureSpecsCache(mojo.featureSpecsCache.toPath()) : null;
         this.wildflyHome = mojo.wildflyHome.toPath();
+        this.wildflyHomeLinker = mojo.linkWildflyHome ? new WildFlyHomeLinker(wildflyHome) : null;
         this.moduleTemplatesDir = mojo.moduleTemplatesDir.toPath();
+        this.featureSpecIndexesDir = mojo.featureSpecIndexesDir == null ? null : mojo.featureSpecIndexesDir.toPath();
         this.minimumStabilityLevel = mojo.minimumStabilityLevel;
         this.description = this.project.getDescription() == null || this.project.getDescription().isBlank() ? this.project.getName() : this.project.getDescription();
         this.log = mojo.getLog();
@@ -154,14 +165,25 @@ public class FeatureSpecGeneratorInvoker {
         try {
             IoUtils.recursiveDelete(moduleTemplatesDir);
             Files.createDirectories(moduleTemplatesDir);
-            IoUtils.recursiveDelete(wildflyHome);
-            Files.createDirectories(wildflyHome);
+            if (wildflyHomeLinker == null) {
+                IoUtils.recursiveDelete(wildflyHome);
+                Files.createDirectories(wildflyHome);
+            } else {
+                wildflyHomeLinker.init();
+            }
             specsTotal = doExecute();
         } catch (RuntimeException | Error | MojoExecutionException | MojoFailureException e) {
             throw e;
         } catch (IOException | MavenFilteringException ex) {
             throw new MojoExecutionException(ex.getMessage(), ex);
         } finally {
+            if (wildflyHomeLinker != null) {
+                try {
+                    wildflyHomeLinker.close();
+                } catch (IOException e) {
+                    log.warn("Failed to delete the previous " + wildflyHome + ": " + e.getLocalizedMessage());
+                }
+            }
             if(configLayout != null) {
                 configLayout.close();
             }
@@ -242,11 +264,24 @@ public class FeatureSpecGeneratorInvoker {
 
         addBasicConfigs();
 
+        Map<String, String> fingerprints = null;
+        if (featureSpecsCache != null) {
+            fingerprints = featureSpecsCache.fingerprint(wildflyHome, inheritedFeatureSpecs, getGenerationSettings());
+            final List<String> modifiedInputs = featureSpecsCache.getModifiedInputs(fingerprints);
+            if (modifiedInputs.isEmpty()) {
+                log.info("Reusing the feature specs generated by the previous build");
+                featureSpecsCache.restore(featureSpecsOutput.toPath());
+                return featureSpecsCache.getSpecsTotal();
+            }
+            debug("Generating feature specs, modified inputs since the previous build: %s", modifiedInputs);
+        }
+
         final String originalMavenRepoLocal = System.getProperty(MAVEN_REPO_LOCAL);
         System.setProperty(MAVEN_REPO_LOCAL, session.getSettings().getLocalRepository());
         debug("Generating feature specs using local maven repo %s", System.getProperty(MAVEN_REPO_LOCAL));
         final ClassLoader originalCl = Thread.currentThread().getContextClassLoader();
         URLClassLoader newCl = null;
+        final int specsTotal;
         try {
             if(!forkEmbedded) {
                 if (originalCl instanceof URLClassLoader) {
@@ -258,7 +293,22 @@ public class FeatureSpecGeneratorInvoker {
             }
             final Class<?> specGenCls = (newCl == null ? originalCl : newCl).loadClass("org.wildfly.galleon.plugin.featurespec.generator.FeatureSpecGenerator");
             final Method specGenMethod = specGenCls.getMethod("generateSpecs");
-            return (int) specGenMethod.invoke(getFeaturePackGenerator(specGenCls));
+            final Object specGen = getFeaturePackGenerator(specGenCls);
+            if (forkEmbedded && forkEmbeddedParallel) {
+                try {
+                    specGenCls.getMethod("setParallelFork", boolean.class).invoke(specGen, true);
+                } catch (NoSuchMethodException e) {
+                    log.warn("The feature spec generator doesn't support launching the embedded processes concurrently");
+                }
+            }
+            if (!inheritedFeatureSpecIndexes.isEmpty()) {
+                try {
+                    specGenCls.getMethod("setInheritedSpecIndexes", Map.class).invoke(specGen, inheritedFeatureSpecIndexes);
+                } catch (NoSuchMethodException e) {
+                    debug("The feature spec generator doesn't support inherited feature spec indexes");
+                }
+            }
+            specsTotal = (int) specGenMethod.invoke(specGen);
         } catch(InvocationTargetException e) {
             throw new MojoExecutionException("Feature spec generator failed", e.getCause());
         } catch (Throwable e) {
@@ -278,6 +328,15 @@ public class FeatureSpecGeneratorInvoker {
                 System.setProperty(MAVEN_REPO_LOCAL, originalMavenRepoLocal);
             }
         }
+        if (fingerprints != null) {
+            featureSpecsCache.store(fingerprints, specsTotal, featureSpecsOutput.toPath());
+        }
+        return specsTotal;
+    }
+
+    private String getGenerationSettings() {
+        return String.valueOf(FeatureSpecGeneratorInvoker.class.getPackage().getImplementationVersion())
+                + '|' + minimumStabilityLevel + '|' + generateCompleteModel + '|' + description;
     }
 
     private void addBasicConfigs() throws IOException {
@@ -401,6 +460,9 @@ public class FeatureSpecGeneratorInvoker {
 
         if(task.isExtract()) {
             Utils.extractArtifact(src, target, task);
+        } else if (wildflyHomeLinker != null) {
+            Files.createDirectories(target.getParent());
+            wildflyHomeLinker.link(src, target, true);
         } else {
             IoUtils.copy(src, target);
         }
@@ -491,17 +553,33 @@ public class FeatureSpecGeneratorInvoker {
             if(inheritedFeatureSpecs.isEmpty()) {
                 inheritedFeatureSpecs = new HashMap<>(500);
             }
-            try(DirectoryStream<Path> stream = Files.newDirectoryStream(p)) {
-                for(Path path : stream) {
-                    String specName = path.getFileName().toString();
-                    if (specName.charAt(specName.length() - 1) == '/') {
-                        specName = specName.substring(0, specName.length() - 1);
-                    }
-                    path = path.resolve(Constants.SPEC_XML);
-                    if(!Files.exists(path)) {
-                        continue;
+            final Path indexFile = getFeatureSpecIndexFile(fp.getFPID());
+            final FeatureSpecIndex index = indexFile == null ? null : getFeatureSpecIndex(fp.getFPID(), p, indexFile);
+            if (index != null) {
+                if (inheritedFeatureSpecIndexes.isEmpty()) {
+                    inheritedFeatureSpecIndexes = new HashMap<>(500);
+                }
+                for (String specName : index.getSpecNames()) {
+                    inheritedFeatureSpecs.put(specName, p.resolve(specName).resolve(Constants.SPEC_XML));
+                    inheritedFeatureSpecIndexes.put(specName, indexFile);
+                }
+            } else {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(p)) {
+                    for (Path path : stream) {
+                        String specName = path.getFileName().toString();
+                        if (specName.charAt(specName.length() - 1) == '/') {
+                            specName = specName.substring(0, specName.length() - 1);
+                        }
+                        path = path.resolve(Constants.SPEC_XML);
+                        if (!Files.exists(path)) {
+                            continue;
+                        }
+                        inheritedFeatureSpecs.put(specName, path);
+                        if (!inheritedFeatureSpecIndexes.isEmpty()) {
+                            // overrides a spec indexed for a previous dependency
+                            inheritedFeatureSpecIndexes.remove(specName);
+                        }
                     }
-                    inheritedFeatureSpecs.put(specName, path);
                 }
             }
         }
@@ -586,6 +664,57 @@ public class FeatureSpecGeneratorInvoker {
         }
     }
 
+    /**
+     * Returns the index of the feature specs of a feature-pack dependency, building it if it has not been built
+     * by a previous build.
+     *
+     * @return the index
+     */
+    private FeatureSpecIndex getFeatureSpecIndex(FPID fpid, Path featuresDir, Path indexFile) throws MojoExecutionException, IOException {
+        FeatureSpecIndex index;
+        try {
+            index = FeatureSpecIndex.load(indexFile);
+        } catch (IOException e) {
+            // e.g. an index truncated by an interrupted build, it is built again
+            debug("Failed to load the feature spec index %s: %s", indexFile, e.getLocalizedMessage());
+            index = null;
+        }
+        if (index == null) {
+            debug("Indexing the feature specs of %s in %s", fpid, indexFile);
+            try {
+                FeatureSpecIndex.build(featuresDir, indexFile);
+            } catch (ProvisioningException e) {
+                throw new MojoExecutionException("Failed to index the feature specs of " + fpid, e);
+            }
+            index = FeatureSpecIndex.load(indexFile);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index file of the feature specs of a feature-pack dependency. The file name includes the size
+     * and last modification time of the feature-pack artifact, so that an artifact replaced in the local
+     * repository under the same FPID gets a new index. The specs of a snapshot may change without the FPID
+     * changing, they are not indexed.
+     *
+     * @return the index file or null if the feature specs are not indexed
+     */
+    private Path getFeatureSpecIndexFile(FPID fpid) throws IOException {
+        if (featureSpecIndexesDir == null || fpid.getBuild() == null || fpid.getBuild().endsWith("-SNAPSHOT")) {
+            return null;
+        }
+        final Path fpZip;
+        try {
+            fpZip = layoutFactory.getUniverseResolver().resolve(fpid.getLocation());
+        } catch (ProvisioningException e) {
+            debug("Failed to resolve the feature-pack artifact of %s, its feature specs are not indexed: %s", fpid, e.getLocalizedMessage());
+            return null;
+        }
+        final BasicFileAttributes attrs = Files.readAttributes(fpZip, BasicFileAttributes.class);
+        return featureSpecIndexesDir.resolve(fpid.toString().replaceAll("[^A-Za-z0-9._-]", "_")
+                + '-' + attrs.size() + '-' + attrs.lastModifiedTime().toMillis() + ".idx");
+    }
+
     private void findAndCopyModules(Path fpDirectory, Map<String, Artifact> fpArtifacts) throws IOException {
         Files.walkFileTree(fpDirectory, new FileVisitor<Path>() {
             @Override
@@ -657,7 +786,11 @@ public class FeatureSpecGeneratorInvoker {
                         } else {
                             final Path target = wildflyHome.resolve(MODULES).resolve(source.relativize(file).toString());
                             Files.createDirectories(target.getParent());
-                            Files.copy(file, target);
+                            if (wildflyHomeLinker == null) {
+                                Files.copy(file, target);
+                            } else {
+                                wildflyHomeLinker.link(file, target, false);
+                            }
                         }
 
                         return FileVisitResult.CONTINUE;
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.maven;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.jboss.galleon.util.HashUtils;
+import org.jboss.galleon.util.IoUtils;
+import org.wildfly.galleon.plugin.FileCopier;
+
+/**
+ * A cache of the feature specs, features.json and management-api.json generated for a feature-pack.
+ * <p>
+ * The generated content is stored with the fingerprints of the generation inputs: every file of the
+ * wildfly-home the specs are generated from (the JBoss modules of the extensions with their artifacts
+ * and the server configurations), the inherited feature specs and the generation settings.
+ * The content is reused only if all the fingerprints match the ones of the previous generation,
+ * since a spec generated for an extension may be merged with or referenced by the specs of other extensions.
+ * <p>
+ * The size and last modified time of the wildfly-home files are stored with their fingerprints, a file whose size and
+ * last modified time have not changed since the previous generation is not hashed again.
+ */
+class FeatureSpecsCache {
+
+    private static final String FINGERPRINTS_FILE = "fingerprints.txt";
+    private static final String SPECS_DIR = "specs";
+    private static final String SEPARATOR = "::";
+    private static final String INHERITED_PREFIX = "inherited:";
+    private static final String SETTINGS = "settings";
+    private static final String SPECS_TOTAL = "total:specs";
+
+    private final Path dir;
+    // the content of the fingerprints file, loaded on first use
+    private Map<String, String> cachedFingerprints;
+    private Map<String, String> cachedStamps;
+    private int cachedSpecsTotal = -1;
+    // the sizes and last modified times of the files fingerprinted by this generation
+    private final Map<String, String> stamps = new HashMap<>();
+
+    FeatureSpecsCache(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Computes the fingerprints of the feature spec generation inputs.
+     *
+     * @param wildflyHome the server the specs are generated from
+     * @param inheritedSpecs the spec.xml files of the inherited feature specs by spec name
+     * @param settings the generation settings
+     * @return the fingerprints by input
+     * @throws IOException in case of a read failure
+     */
+    Map<String, String> fingerprint(Path wildflyHome, Map<String, Path> inheritedSpecs, String settings) throws IOException {
+        load();
+        stamps.clear();
+        final Map<String, String> fingerprints = new TreeMap<>();
+        fingerprints.put(SETTINGS, HashUtils.hash(settings));
+        try (Stream<Path> files = Files.walk(wildflyHome)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                final BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attrs.isRegularFile()) {
+                    continue;
+                }
+                final String input = wildflyHome.relativize(file).toString().replace(File.separatorChar, '/');
+                final String stamp = attrs.size() + "/" + attrs.lastModifiedTime().toMillis();
+                final String cached = cachedFingerprints.get(input);
+                fingerprints.put(input, cached != null && stamp.equals(cachedStamps.get(input)) ? cached : FileCopier.hash(file));
+                stamps.put(input, stamp);
+            }
+        }
+        for (Map.Entry<String, Path> spec : inheritedSpecs.entrySet()) {
+            fingerprints.put(INHERITED_PREFIX + spec.getKey(), FileCopier.hash(spec.getValue()));
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Returns the inputs whose fingerprints differ from the ones of the cached content.
+     *
+     * @param fingerprints the fingerprints of the current inputs
+     * @return the modified, added and removed inputs, all the inputs if nothing is cached
+     * @throws IOException in case of a read failure
+     */
+    List<String> getModifiedInputs(Map<String, String> fingerprints) throws IOException {
+        load();
+        if (cachedSpecsTotal < 0) {
+            return new ArrayList<>(fingerprints.keySet());
+        }
+        final Map<String, String> cached = cachedFingerprints;
+        final TreeSet<String> inputs = new TreeSet<>(cached.keySet());
+        inputs.addAll(fingerprints.keySet());
+        final List<String> modified = new ArrayList<>();
+        for (String input : inputs) {
+            final String fingerprint = fingerprints.get(input);
+            if (fingerprint == null || !fingerprint.equals(cached.get(input))) {
+                modified.add(input);
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * The number of feature specs of the cached content.
+     *
+     * @return the number of feature specs or -1 if nothing is cached
+     * @throws IOException in case of a read failure
+     */
+    int getSpecsTotal() throws IOException {
+        load();
+        return cachedSpecsTotal;
+    }
+
+    private void load() throws IOException {
+        if (cachedFingerprints != null) {
+            return;
+        }
+        cachedFingerprints = new TreeMap<>();
+        cachedStamps = new HashMap<>();
+        final Path file = dir.resolve(FINGERPRINTS_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                final int i = line.indexOf(SEPARATOR);
+                if (i > 0) {
+                    final String input = line.substring(0, i);
+                    String fingerprint = line.substring(i + SEPARATOR.length());
+                    final int stampStart = fingerprint.indexOf(SEPARATOR);
+                    if (stampStart > 0) {
+                        cachedStamps.put(input, fingerprint.substring(stampStart + SEPARATOR.length()));
+                        fingerprint = fingerprint.substring(0, stampStart);
+                    }
+                    if (SPECS_TOTAL.equals(input)) {
+                        cachedSpecsTotal = Integer.parseInt(fingerprint);
+                    } else {
+                        cachedFingerprints.put(input, fingerprint);
+                    }
+                }
+                line = reader.readLine();
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Failed to parse " + file, e);
+        }
+    }
+
+    /**
+     * Copies the cached content to the output directory.
+     *
+     * @param outputDir the feature specs output directory
+     * @throws IOException in case of a copy failure
+     */
+    void restore(Path outputDir) throws IOException {
+        IoUtils.copy(dir.resolve(SPECS_DIR), outputDir);
+    }
+
+    /**
+     * Replaces the cached content with the content of the output directory.
+     *
+     * @param fingerprints the fingerprints of the inputs the content has been generated from
+     * @param specsTotal the number of generated feature specs
+     * @param outputDir the feature specs output directory
+     * @throws IOException in case of a copy or write failure
+     */
+    void store(Map<String, String> fingerprints, int specsTotal, Path outputDir) throws IOException {
+        // the fingerprints are removed first and written last, so that an incomplete copy is never reused
+        final Path file = dir.resolve(FINGERPRINTS_FILE);
+        Files.deleteIfExists(file);
+        final Path specsDir = dir.resolve(SPECS_DIR);
+        IoUtils.recursiveDelete(specsDir);
+        Files.createDirectories(dir);
+        IoUtils.copy(outputDir, specsDir);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(SPECS_TOTAL);
+            writer.write(SEPARATOR);
+            writer.write(String.valueOf(specsTotal));
+            writer.write('\n');
+            for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(SEPARATOR);
+                writer.write(entry.getValue());
+                final String stamp = stamps.get(entry.getKey());
+                if (stamp != null) {
+                    writer.write(SEPARATOR);
+                    writer.write(stamp);
+                }
+                writer.write('\n');
+            }
+        }
+        cachedFingerprints = new TreeMap<>(fingerprints);
+        cachedStamps = new HashMap<>(stamps);
+        cachedSpecsTotal = specsTotal;
+    }
+}
@@ -20,10 +20,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import org.wildfly.galleon.plugin.FileCopier;
+
 /**
  * Copy artifacts from local repository to a directory.
  *
@@ -38,6 +39,7 @@ public class MavenRepoBuilder {
 
     private final Path localMvnRepoPath;
     private final Path targetDirectory;
+    private long copiedBytes;
     /**
      * Create a maven repository builder.
      *
@@ -63,13 +65,19 @@ public class MavenRepoBuilder {
         }
     }
 
+    /**
+     * @return the number of bytes copied to the target directory
+     */
+    public long getCopiedBytes() {
+        return copiedBytes;
+    }
+
     private void addArtifact(Path localMvnRepoPath, Path artifactLocalPath) {
         Path relativized = localMvnRepoPath.relativize(artifactLocalPath);
         Path pathInZipfile = Paths.get(targetDirectory.toString(), ROOT_PATH, relativized.toString());
         try {
             Files.createDirectories(pathInZipfile.getParent());
-            Files.copy(artifactLocalPath, pathInZipfile,
-                    StandardCopyOption.REPLACE_EXISTING);
+            copiedBytes += FileCopier.copy(artifactLocalPath, pathInZipfile);
         } catch (IOException ex) {
             throw new RuntimeException("Can't add " + artifactLocalPath + " to directory", ex);
         }
@@ -120,6 +120,13 @@ public class WfFeaturePackBuildMojo extends AbstractFeaturePackBuildMojo {
     @Parameter(alias = "fork-embedded", required = false)
     protected boolean forkEmbedded;
 
+    /**
+     * Used only for feature spec generation when {@code fork-embedded} is enabled and indicates whether
+     * the embedded standalone server and host controller are launched concurrently in two separate processes
+     */
+    @Parameter(alias = "fork-embedded-parallel", required = false)
+    protected boolean forkEmbeddedParallel;
+
     /**
      * Used only for feature spec generation and points to a directory from
      * which the embedded WildFly instance will be started that is used for
@@ -128,6 +135,15 @@ public class WfFeaturePackBuildMojo extends AbstractFeaturePackBuildMojo {
     @Parameter(alias = "wildfly-home", property = "wfgp.wildflyHome", defaultValue = "${project.build.directory}/wildfly", required = true)
     protected File wildflyHome;
 
+    /**
+     * Used only for feature spec generation and indicates whether the artifacts and module files of the
+     * {@code wildfly-home} are hard-linked, or symbolically linked if hard links are not supported, to their
+     * source instead of being copied. The files of the {@code wildfly-home} of the previous build that are
+     * unchanged are reused.
+     */
+    @Parameter(alias = "link-wildfly-home", property = "wfgp.linkWildflyHome", required = false)
+    protected boolean linkWildflyHome;
+
     /**
      * Used only for feature spec generation and points to a directory where
      * the module templates from the dependent feature packs are gathered before
@@ -143,6 +159,30 @@ public class WfFeaturePackBuildMojo extends AbstractFeaturePackBuildMojo {
     @Parameter(alias = "feature-specs-output", defaultValue = "${project.build.directory}/resources/features", required = true)
     protected File featureSpecsOutput;
 
+    /**
+     * Used only for feature spec generation and points to the directory where the indexes of the feature specs
+     * inherited from the feature-pack dependencies are kept across builds. An index is built once per
+     * feature-pack dependency artifact, snapshot dependencies are not indexed. Not set by default, in which case
+     * the inherited feature specs are not indexed.
+     */
+    @Parameter(alias = "feature-spec-indexes", property = "wfgp.featureSpecIndexes")
+    protected File featureSpecIndexesDir;
+
+    /**
+     * Used only for feature spec generation and indicates whether the generated feature specs are cached and
+     * reused by the next builds when the modules of the extensions, the inherited feature specs and the generation
+     * settings have not changed, in which case the embedded server and host controller are not launched.
+     */
+    @Parameter(alias = "incremental-feature-specs", property = "wfgp.incrementalFeatureSpecs", required = false)
+    protected boolean incrementalFeatureSpecs;
+
+    /**
+     * Used only for feature spec generation when {@code incremental-feature-specs} is enabled and points to
+     * the directory where the generated feature specs are cached.
+     */
+    @Parameter(alias = "feature-specs-cache", property = "wfgp.featureSpecsCache", defaultValue = "${project.build.directory}/feature-specs-cache", required = true)
+    protected File featureSpecsCache;
+
     private WildFlyFeaturePackBuild buildConfig;
     private Map<String, PackageSpec.Builder> extendedPackages = Collections.emptyMap();
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.maven;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.jboss.galleon.util.IoUtils;
+
+/**
+ * Assembles the files of the wildfly-home the feature specs are generated from by linking them instead of
+ * copying them.
+ * <p>
+ * A file is hard-linked to its source. If the source can't be hard-linked, e.g. if it is on another file store,
+ * a symbolic link is created, and if symbolic links are not supported the file is copied with its attributes.
+ * The wildfly-home of the previous build is kept aside while the new one is assembled and the files it contains
+ * that are still the same as their source are moved to the new wildfly-home instead of being linked or copied again.
+ */
+class WildFlyHomeLinker {
+
+    private final Path home;
+    private final Path previousHome;
+
+    WildFlyHomeLinker(Path home) {
+        this.home = home;
+        this.previousHome = home.resolveSibling(home.getFileName() + ".previous");
+    }
+
+    /**
+     * Moves the wildfly-home of the previous build aside and creates an empty wildfly-home.
+     *
+     * @throws IOException in case of a failure
+     */
+    void init() throws IOException {
+        IoUtils.recursiveDelete(previousHome);
+        if (Files.exists(home)) {
+            Files.move(home, previousHome);
+        }
+        Files.createDirectories(home);
+    }
+
+    /**
+     * Links a file of the wildfly-home to its source. As when the file is copied, a target that has already been
+     * placed in the wildfly-home by this build, e.g. by another feature-pack, is a conflict unless it is replaced.
+     *
+     * @param src the source file
+     * @param target the file in the wildfly-home
+     * @param replaceExisting whether a target placed by this build is replaced
+     * @throws FileAlreadyExistsException if the target exists and is not replaced
+     * @throws IOException in case of a failure
+     */
+    void link(Path src, Path target, boolean replaceExisting) throws IOException {
+        // the files of the previous build are in the previous wildfly-home, an existing target was placed by this build
+        if (replaceExisting) {
+            Files.deleteIfExists(target);
+        } else if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            throw new FileAlreadyExistsException(target.toString());
+        }
+        if (src.getFileSystem() != FileSystems.getDefault()) {
+            // e.g. a file of a zipped feature-pack
+            Files.copy(src, target);
+            return;
+        }
+        final Path previous = getPrevious(target);
+        if (previous != null && isSame(src, previous)) {
+            Files.move(previous, target);
+            return;
+        }
+        try {
+            Files.createLink(target, src);
+            return;
+        } catch (IOException | UnsupportedOperationException e) {
+            // falls back to a symbolic link
+        }
+        try {
+            Files.createSymbolicLink(target, src.toAbsolutePath());
+            return;
+        } catch (IOException | UnsupportedOperationException e) {
+            // falls back to a copy
+        }
+        Files.copy(src, target, StandardCopyOption.COPY_ATTRIBUTES);
+    }
+
+    /**
+     * Deletes what remains of the wildfly-home of the previous build.
+     *
+     * @throws IOException in case of a failure
+     */
+    void close() throws IOException {
+        IoUtils.recursiveDelete(previousHome);
+    }
+
+    private Path getPrevious(Path target) {
+        if (!target.startsWith(home)) {
+            return null;
+        }
+        final Path previous = previousHome.resolve(home.relativize(target).toString());
+        return Files.exists(previous) ? previous : null;
+    }
+
+    private static boolean isSame(Path src, Path previous) {
+        try {
+            if (Files.isSameFile(src, previous)) {
+                return true;
+            }
+            if (Files.isSymbolicLink(previous)) {
+                return false;
+            }
+            final BasicFileAttributes srcAttrs = Files.readAttributes(src, BasicFileAttributes.class);
+            final BasicFileAttributes previousAttrs = Files.readAttributes(previous, BasicFileAttributes.class);
+            return srcAttrs.size() == previousAttrs.size()
+                    && srcAttrs.lastModifiedTime().equals(previousAttrs.lastModifiedTime());
+        } catch (IOException e) {
+            // e.g. a link to a source that no longer exists
+            return false;
+        }
+    }
+}
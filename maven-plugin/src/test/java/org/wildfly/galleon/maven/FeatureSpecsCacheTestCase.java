@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.maven;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FeatureSpecsCacheTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testStoreAndRestore() throws Exception {
+        final Path home = temp.newFolder("wildfly").toPath();
+        final Path jar = home.resolve("modules").resolve("org").resolve("test").resolve("main").resolve("test.jar");
+        Files.createDirectories(jar.getParent());
+        Files.writeString(jar, "jar");
+        Files.writeString(jar.resolveSibling("module.xml"), "<module/>");
+        final Path inherited = temp.newFile("spec.xml").toPath();
+        Files.writeString(inherited, "<feature-spec/>");
+        final Map<String, Path> inheritedSpecs = Collections.singletonMap("extension", inherited);
+
+        final FeatureSpecsCache cache = new FeatureSpecsCache(temp.getRoot().toPath().resolve("cache"));
+        final Map<String, String> fingerprints = cache.fingerprint(home, inheritedSpecs, "settings");
+        Assert.assertEquals(fingerprints.size(), cache.getModifiedInputs(fingerprints).size());
+
+        final Path output = temp.newFolder("features").toPath();
+        Files.createDirectories(output.resolve("subsystem.test"));
+        Files.writeString(output.resolve("subsystem.test").resolve("spec.xml"), "<feature-spec name=\"subsystem.test\"/>");
+        Files.writeString(output.resolve("features.json"), "{}");
+        cache.store(fingerprints, 1, output);
+        Assert.assertTrue(cache.getModifiedInputs(cache.fingerprint(home, inheritedSpecs, "settings")).isEmpty());
+
+        final Path restored = temp.getRoot().toPath().resolve("restored");
+        cache.restore(restored);
+        Assert.assertEquals("<feature-spec name=\"subsystem.test\"/>", Files.readString(restored.resolve("subsystem.test").resolve("spec.xml")));
+        Assert.assertEquals("{}", Files.readString(restored.resolve("features.json")));
+
+        final FeatureSpecsCache nextBuild = new FeatureSpecsCache(temp.getRoot().toPath().resolve("cache"));
+        Assert.assertTrue(nextBuild.getModifiedInputs(nextBuild.fingerprint(home, inheritedSpecs, "settings")).isEmpty());
+        Assert.assertEquals(1, nextBuild.getSpecsTotal());
+    }
+
+    @Test
+    public void testUnchangedFilesAreNotHashed() throws Exception {
+        final Path home = temp.newFolder("wildfly").toPath();
+        final Path moduleXml = home.resolve("modules").resolve("org").resolve("test").resolve("main").resolve("module.xml");
+        Files.createDirectories(moduleXml.getParent());
+        Files.writeString(moduleXml, "<module/>");
+        final FileTime lastModified = Files.getLastModifiedTime(moduleXml);
+
+        final FeatureSpecsCache cache = new FeatureSpecsCache(temp.getRoot().toPath().resolve("cache"));
+        Assert.assertEquals(-1, cache.getSpecsTotal());
+        cache.store(cache.fingerprint(home, Collections.emptyMap(), "settings"), 0, temp.newFolder("features").toPath());
+
+        // same size and last modified time, the fingerprint of the previous generation is reused
+        Files.writeString(moduleXml, "<MODULE/>");
+        Files.setLastModifiedTime(moduleXml, lastModified);
+        final FeatureSpecsCache nextBuild = new FeatureSpecsCache(temp.getRoot().toPath().resolve("cache"));
+        Assert.assertTrue(nextBuild.getModifiedInputs(nextBuild.fingerprint(home, Collections.emptyMap(), "settings")).isEmpty());
+
+        Files.setLastModifiedTime(moduleXml, FileTime.fromMillis(lastModified.toMillis() + 2000));
+        Assert.assertEquals(Arrays.asList("modules/org/test/main/module.xml"),
+                nextBuild.getModifiedInputs(nextBuild.fingerprint(home, Collections.emptyMap(), "settings")));
+    }
+
+    @Test
+    public void testModifiedInputs() throws Exception {
+        final Path home = temp.newFolder("wildfly").toPath();
+        final Path moduleXml = home.resolve("modules").resolve("org").resolve("test").resolve("main").resolve("module.xml");
+        Files.createDirectories(moduleXml.getParent());
+        Files.writeString(moduleXml, "<module/>");
+        final Path inherited = temp.newFile("spec.xml").toPath();
+        Files.writeString(inherited, "<feature-spec/>");
+        final Map<String, Path> inheritedSpecs = Collections.singletonMap("extension", inherited);
+
+        final FeatureSpecsCache cache = new FeatureSpecsCache(temp.getRoot().toPath().resolve("cache"));
+        cache.store(cache.fingerprint(home, inheritedSpecs, "settings"), 0, temp.newFolder("features").toPath());
+
+        Files.writeString(moduleXml, "<module name=\"org.test\"/>");
+        Files.writeString(home.resolve("added.txt"), "added");
+        Assert.assertEquals(Arrays.asList("added.txt", "modules/org/test/main/module.xml"),
+                cache.getModifiedInputs(cache.fingerprint(home, inheritedSpecs, "settings")));
+        Assert.assertEquals(Arrays.asList("added.txt", "inherited:extension", "modules/org/test/main/module.xml", "settings"),
+                cache.getModifiedInputs(cache.fingerprint(home, Collections.singletonMap("extension", moduleXml), "other")));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.galleon.maven;
+
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WildFlyHomeLinkerTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testLinkAndReuse() throws Exception {
+        final Path repo = temp.newFolder("repo").toPath();
+        final Path jar = repo.resolve("test-1.0.jar");
+        Files.writeString(jar, "test");
+        final Path other = repo.resolve("other-1.0.jar");
+        Files.writeString(other, "other");
+        final Path home = temp.getRoot().toPath().resolve("wildfly");
+        final Path target = home.resolve("modules").resolve("test-1.0.jar");
+
+        WildFlyHomeLinker linker = new WildFlyHomeLinker(home);
+        linker.init();
+        Files.createDirectories(target.getParent());
+        linker.link(jar, target, false);
+        Files.writeString(home.resolve("standalone.xml"), "<server/>");
+        linker.close();
+        Assert.assertEquals("test", Files.readString(target));
+        Assert.assertTrue(Files.isSameFile(jar, target));
+
+        linker = new WildFlyHomeLinker(home);
+        linker.init();
+        Assert.assertFalse(Files.exists(home.resolve("standalone.xml")));
+        Files.createDirectories(target.getParent());
+        linker.link(other, target, false);
+        linker.close();
+        Assert.assertEquals("other", Files.readString(target));
+        Assert.assertEquals("test", Files.readString(jar));
+        Assert.assertFalse(Files.exists(home.resolveSibling("wildfly.previous")));
+    }
+
+    @Test
+    public void testConflict() throws Exception {
+        final Path repo = temp.newFolder("repo").toPath();
+        final Path jar = repo.resolve("test-1.0.jar");
+        Files.writeString(jar, "test");
+        final Path other = repo.resolve("other-1.0.jar");
+        Files.writeString(other, "other");
+        final Path home = temp.getRoot().toPath().resolve("wildfly");
+        final Path target = home.resolve("modules").resolve("test.jar");
+
+        final WildFlyHomeLinker linker = new WildFlyHomeLinker(home);
+        linker.init();
+        Files.createDirectories(target.getParent());
+        linker.link(jar, target, false);
+        try {
+            linker.link(other, target, false);
+            Assert.fail("The target placed by another source is not replaced");
+        } catch (FileAlreadyExistsException e) {
+            // expected
+        }
+        Assert.assertEquals("test", Files.readString(target));
+        linker.link(other, target, true);
+        linker.close();
+        Assert.assertEquals("other", Files.readString(target));
+        Assert.assertEquals("test", Files.readString(jar));
+    }
+}